@@ -1,40 +1,64 @@
 package com.example.gatewayy_service.config;
 
+import com.example.gatewayy_service.resilience.HedgeGatewayFilterFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Set;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+
 @Configuration
 public class GatewayConfig {
 
+    // Réponses comptées comme des échecs par les circuit breakers
+    private static final Set<String> SERVER_ERRORS = Set.of("500", "502", "503", "504");
+
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, HedgeGatewayFilterFactory hedge) {
         return builder.routes()
                 // WASTE SERVICE
                 .route("waste-service", r -> r
                         .path("/waste/**")
-                        .filters(f -> f.stripPrefix(1))
+                        .filters(f -> f.stripPrefix(1)
+                                .circuitBreaker(c -> c.setName("waste-service").setStatusCodes(SERVER_ERRORS))
+                                .filter(hedge.apply(new HedgeGatewayFilterFactory.Config())))
                         .uri("lb://waste-service"))
 
                 // ROBOT SERVICE
                 .route("robot-service", r -> r
                         .path("/robot/**")
-                        .filters(f -> f.stripPrefix(1))
+                        .filters(f -> f.stripPrefix(1)
+                                .circuitBreaker(c -> c.setName("robot-service").setStatusCodes(SERVER_ERRORS))
+                                .filter(hedge.apply(new HedgeGatewayFilterFactory.Config())))
                         .uri("lb://robot-service"))
 
                 // ADMIN SERVICE
                 .route("admin-service", r -> r
                         .path("/admin/**")
-                        .filters(f -> f.stripPrefix(1))
+                        .filters(f -> f.stripPrefix(1)
+                                .circuitBreaker(c -> c.setName("admin-service").setStatusCodes(SERVER_ERRORS)))
                         .uri("lb://admin-service"))
 
-                // AI SERVICE
+                // AI SERVICE (flux vidéo : pas de délai global, seulement sur la connexion et les en-têtes)
                 .route("ai-service", r -> r
                         .path("/ai/**")
-                        .filters(f -> f.stripPrefix(1))
+                        .filters(f -> f.stripPrefix(1)
+                                .circuitBreaker(c -> c.setName("ai-service").setStatusCodes(SERVER_ERRORS)))
+                        .metadata(CONNECT_TIMEOUT_ATTR, 2000)
+                        .metadata(RESPONSE_TIMEOUT_ATTR, 10000)
                         .uri("lb://ai-service"))
 
                 .build();
     }
+
+    // Profil fast-startup : les routes restent créées au démarrage malgré l'initialisation paresseuse
+    @Bean
+    static LazyInitializationExcludeFilter routeLocatorEagerInit() {
+        return LazyInitializationExcludeFilter.forBeanTypes(RouteLocator.class);
+    }
 }
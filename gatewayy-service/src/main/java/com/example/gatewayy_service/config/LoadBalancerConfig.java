@@ -0,0 +1,27 @@
+package com.example.gatewayy_service.config;
+
+import com.example.gatewayy_service.loadbalancer.InstanceStatsFilter;
+import com.example.gatewayy_service.loadbalancer.InstanceStatsRegistry;
+import com.example.gatewayy_service.loadbalancer.LatencyAwareLoadBalancerConfiguration;
+import com.example.gatewayy_service.loadbalancer.LatencyAwareLoadBalancerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Load balancer des routes lb:// : latence EWMA + requêtes en cours, éjection des instances en erreur
+@Configuration
+@EnableConfigurationProperties(LatencyAwareLoadBalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+
+    @Bean
+    public InstanceStatsRegistry instanceStatsRegistry(LatencyAwareLoadBalancerProperties properties) {
+        return new InstanceStatsRegistry(properties);
+    }
+
+    @Bean
+    public InstanceStatsFilter instanceStatsFilter(InstanceStatsRegistry registry) {
+        return new InstanceStatsFilter(registry);
+    }
+}
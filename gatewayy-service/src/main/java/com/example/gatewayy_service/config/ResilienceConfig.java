@@ -0,0 +1,32 @@
+package com.example.gatewayy_service.config;
+
+import com.example.gatewayy_service.loadbalancer.InstanceStatsRegistry;
+import com.example.gatewayy_service.resilience.HedgeGatewayFilterFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+// Protection de la latence de queue : hedging des GET (filtre "Hedge").
+// Délais et circuit breakers : filtre CircuitBreaker + configuration resilience4j (application.yaml).
+@Configuration
+public class ResilienceConfig {
+
+    // Même HttpClient (pool, délais) et mêmes filtres d'en-têtes (X-Forwarded-*) que NettyRoutingFilter
+    @Bean
+    public HedgeGatewayFilterFactory hedgeGatewayFilterFactory(LoadBalancerClientFactory clientFactory,
+                                                               InstanceStatsRegistry statsRegistry,
+                                                               MeterRegistry meterRegistry,
+                                                               HttpClient httpClient,
+                                                               ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                               HttpClientProperties httpClientProperties) {
+        return new HedgeGatewayFilterFactory(clientFactory, statsRegistry, meterRegistry,
+                httpClient, headersFilters, httpClientProperties);
+    }
+}
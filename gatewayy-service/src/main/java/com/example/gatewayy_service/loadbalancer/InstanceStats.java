@@ -0,0 +1,64 @@
+package com.example.gatewayy_service.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Statistiques d'une instance : latence lissée (EWMA), requêtes en cours et éjection.
+ */
+public class InstanceStats {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double ewmaNanos = -1;
+    private long lastSampleNanos;
+    private int consecutiveFailures;
+    private long ejectedUntilNanos;
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    void requestStarted() {
+        inFlight.incrementAndGet();
+    }
+
+    void requestFinished() {
+        inFlight.updateAndGet(n -> Math.max(0, n - 1));
+    }
+
+    /**
+     * Latence lissée. Sans mesure récente, elle revient progressivement vers defaultNanos
+     * (constante de temps decayNanos) : une instance écartée car lente finit par être réessayée.
+     */
+    public synchronized double ewmaNanos(double defaultNanos, long decayNanos, long now) {
+        if (ewmaNanos < 0) {
+            return defaultNanos;
+        }
+        double weight = Math.exp(-(double) (now - lastSampleNanos) / decayNanos);
+        return weight * ewmaNanos + (1 - weight) * defaultNanos;
+    }
+
+    synchronized void recordLatency(long nanos, double alpha, long now) {
+        ewmaNanos = ewmaNanos < 0 ? nanos : alpha * nanos + (1 - alpha) * ewmaNanos;
+        lastSampleNanos = now;
+    }
+
+    synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+    }
+
+    // Renvoie true si cette erreur provoque l'éjection
+    synchronized boolean recordFailure(int threshold, long ejectionNanos, long now) {
+        consecutiveFailures++;
+        if (consecutiveFailures >= threshold) {
+            consecutiveFailures = 0;
+            ejectedUntilNanos = now + ejectionNanos;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized boolean isEjected(long now) {
+        return ejectedUntilNanos - now > 0;
+    }
+}
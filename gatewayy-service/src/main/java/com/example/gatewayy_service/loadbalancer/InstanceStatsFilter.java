@@ -0,0 +1,58 @@
+package com.example.gatewayy_service.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/**
+ * Mesure chaque requête routée vers une instance choisie par le load balancer :
+ * requêtes en cours, latence et erreurs (5xx ou erreur réseau) alimentent InstanceStatsRegistry.
+ */
+public class InstanceStatsFilter implements GlobalFilter, Ordered {
+
+    private final InstanceStatsRegistry registry;
+
+    public InstanceStatsFilter(InstanceStatsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return chain.filter(exchange);
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        long start = System.nanoTime();
+        registry.requestStarted(instance);
+
+        return chain.filter(exchange).doFinally(signal -> {
+            long latency = System.nanoTime() - start;
+            if (signal == SignalType.CANCEL) {
+                registry.requestCancelled(instance);
+                return;
+            }
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                registry.requestFailed(instance, latency);
+            } else {
+                registry.requestSucceeded(instance, latency);
+            }
+        });
+    }
+
+    // Juste après le choix de l'instance, avant l'appel HTTP
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
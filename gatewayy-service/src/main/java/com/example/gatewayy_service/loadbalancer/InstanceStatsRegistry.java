@@ -0,0 +1,85 @@
+package com.example.gatewayy_service.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Statistiques partagées entre le load balancer (lecture) et InstanceStatsFilter (écriture).
+ * Une seule instance dans le contexte principal, visible de tous les contextes LoadBalancer.
+ */
+@Slf4j
+public class InstanceStatsRegistry {
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+    private final LatencyAwareLoadBalancerProperties properties;
+
+    public InstanceStatsRegistry(LatencyAwareLoadBalancerProperties properties) {
+        this.properties = properties;
+    }
+
+    public InstanceStats get(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), k -> new InstanceStats());
+    }
+
+    // Incrément sous le verrou de la clé : retain ne peut pas retirer l'entrée entre la lecture et l'incrément
+    public void requestStarted(ServiceInstance instance) {
+        stats.compute(key(instance), (k, s) -> {
+            InstanceStats started = s == null ? new InstanceStats() : s;
+            started.requestStarted();
+            return started;
+        });
+    }
+
+    public void requestSucceeded(ServiceInstance instance, long latencyNanos) {
+        InstanceStats s = get(instance);
+        s.requestFinished();
+        s.recordLatency(latencyNanos, properties.getEwmaAlpha(), System.nanoTime());
+        s.recordSuccess();
+    }
+
+    public void requestFailed(ServiceInstance instance, long latencyNanos) {
+        InstanceStats s = get(instance);
+        s.requestFinished();
+        s.recordLatency(latencyNanos, properties.getEwmaAlpha(), System.nanoTime());
+        boolean ejected = s.recordFailure(properties.getEjectionThreshold(),
+                properties.getEjectionDuration().toNanos(), System.nanoTime());
+        if (ejected) {
+            log.warn("Instance {} éjectée pour {}", key(instance), properties.getEjectionDuration());
+        }
+    }
+
+    // Requête annulée (client parti) : aucune mesure exploitable
+    public void requestCancelled(ServiceInstance instance) {
+        get(instance).requestFinished();
+    }
+
+    /**
+     * Oublie les instances de serviceId absentes de la dernière liste Consul (redéploiement, fin de pic) :
+     * sans cela chaque adresse vue un jour garderait ses statistiques. Une instance qui a encore
+     * des requêtes en cours est conservée jusqu'au rafraîchissement suivant ; le test est fait sous le verrou
+     * de la clé, comme l'incrément de requestStarted.
+     */
+    public void retain(String serviceId, List<ServiceInstance> current) {
+        String prefix = serviceId + "/";
+        Set<String> live = current.stream().map(InstanceStatsRegistry::key).collect(Collectors.toSet());
+        for (String key : stats.keySet()) {
+            if (key.startsWith(prefix) && !live.contains(key)) {
+                stats.computeIfPresent(key, (k, s) -> s.inFlight() > 0 ? s : null);
+            }
+        }
+    }
+
+    int size() {
+        return stats.size();
+    }
+
+    static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+}
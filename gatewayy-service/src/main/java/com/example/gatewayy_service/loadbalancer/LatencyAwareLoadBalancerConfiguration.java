@@ -0,0 +1,34 @@
+package com.example.gatewayy_service.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Configuration appliquée à chaque contexte LoadBalancer (un par service lb://),
+ * déclarée via @LoadBalancerClients dans LoadBalancerConfig.
+ * Volontairement sans @Configuration : elle ne doit pas être chargée dans le contexte principal.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier refreshingServiceInstanceListSupplier(
+            ConfigurableApplicationContext context, InstanceStatsRegistry registry,
+            LatencyAwareLoadBalancerProperties properties) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .with((ctx, delegate) -> new RefreshingServiceInstanceListSupplier(
+                        delegate, registry, properties.getRefreshInterval()))
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(
+            ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+            InstanceStatsRegistry registry, LatencyAwareLoadBalancerProperties properties) {
+        return new LatencyAwareLoadBalancer(supplierProvider, registry, properties);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.gatewayy_service.loadbalancer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Réglages du load balancer des routes lb:// (préfixe gateway.loadbalancer).
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.loadbalancer")
+public class LatencyAwareLoadBalancerProperties {
+
+    /** Poids d'une nouvelle mesure dans la moyenne mobile exponentielle (EWMA) de latence. */
+    private double ewmaAlpha = 0.3;
+
+    /** Latence supposée d'une instance sans mesure, pour ne pas la surcharger dès son arrivée. */
+    private Duration initialLatency = Duration.ofMillis(100);
+
+    /** Constante de temps du retour vers initialLatency d'une instance sans mesure récente. */
+    private Duration ewmaDecay = Duration.ofSeconds(10);
+
+    /** Nombre d'erreurs consécutives (5xx ou erreur réseau) avant éjection. */
+    private int ejectionThreshold = 3;
+
+    /** Durée d'éjection d'une instance en erreur. */
+    private Duration ejectionDuration = Duration.ofSeconds(30);
+
+    /** Période de rafraîchissement de la liste d'instances depuis Consul, hors chemin des requêtes. */
+    private Duration refreshInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,65 @@
+package com.example.gatewayy_service.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Garde en mémoire la dernière liste d'instances connue et la rafraîchit en tâche de fond :
+ * le choix d'une instance n'attend jamais Consul (sauf tout premier appel, avant toute réponse).
+ * En cas d'échec du rafraîchissement ou de liste vide (Consul indisponible), la liste précédente est conservée.
+ * Chaque liste non vide purge aussi les statistiques des instances disparues (InstanceStatsRegistry.retain).
+ */
+@Slf4j
+public class RefreshingServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    // null tant qu'aucune liste n'a été reçue
+    private final AtomicReference<List<ServiceInstance>> instances = new AtomicReference<>();
+    private final Disposable refresh;
+
+    public RefreshingServiceInstanceListSupplier(ServiceInstanceListSupplier delegate,
+                                                 InstanceStatsRegistry registry, Duration interval) {
+        super(delegate);
+        this.refresh = Flux.interval(Duration.ZERO, interval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .concatMap(tick -> delegate.get().next()
+                        .doOnNext(list -> {
+                            // Liste vide : Consul probablement indisponible, on garde la liste et l'état d'éjection
+                            if (!list.isEmpty()) {
+                                instances.set(list);
+                                registry.retain(getServiceId(), list);
+                            } else {
+                                instances.compareAndSet(null, list);
+                            }
+                        })
+                        .onErrorResume(e -> {
+                            log.warn("Rafraîchissement des instances de {} impossible : {}", getServiceId(), e.toString());
+                            return Mono.empty();
+                        }), 0)
+                .subscribe();
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        List<ServiceInstance> cached = instances.get();
+        if (cached == null) {
+            return delegate.get().take(1).doOnNext(list -> instances.compareAndSet(null, list));
+        }
+        return Flux.just(cached);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        refresh.dispose();
+        super.destroy();
+    }
+}
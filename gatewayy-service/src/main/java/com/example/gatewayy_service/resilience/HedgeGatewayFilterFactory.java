@@ -0,0 +1,340 @@
+package com.example.gatewayy_service.resilience;
+
+import com.example.gatewayy_service.loadbalancer.InstanceStatsRegistry;
+import com.example.gatewayy_service.loadbalancer.LatencyAwareLoadBalancer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.Connection;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_CONN_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CLIENT_RESPONSE_HEADER_NAMES;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.PRESERVE_HOST_HEADER_ATTRIBUTE;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * Requêtes "hedgées" pour les GET d'une route lb:// (filtre "Hedge", à placer en dernier sur la route).
+ * Si la première tentative n'a pas répondu après le p95 de latence de la route,
+ * une seconde est envoyée à une autre instance ; la première réponse l'emporte, l'autre est annulée.
+ * <p>
+ * Le filtre ne prend la main que si une seconde tentative est possible (fenêtre de latence remplie,
+ * budget disponible, au moins deux instances) ; sinon la requête suit la chaîne standard
+ * (load balancer puis NettyRoutingFilter). Les tentatives passent par le HttpClient et les
+ * HttpHeadersFilter de la gateway, et la réponse retenue est confiée à NettyWriteResponseFilter
+ * comme sur le chemin standard : les délais (TimeLimiter, response-timeout) portent sur les en-têtes.
+ */
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    private final LoadBalancerClientFactory clientFactory;
+    private final InstanceStatsRegistry statsRegistry;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final HttpClientProperties httpClientProperties;
+    private final Map<String, RouteState> states = new ConcurrentHashMap<>();
+
+    public HedgeGatewayFilterFactory(LoadBalancerClientFactory clientFactory, InstanceStatsRegistry statsRegistry,
+                                     MeterRegistry meterRegistry, HttpClient httpClient,
+                                     ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                     HttpClientProperties httpClientProperties) {
+        super(Config.class);
+        this.clientFactory = clientFactory;
+        this.statsRegistry = statsRegistry;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = httpClient;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.httpClientProperties = httpClientProperties;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            if (route == null || !"lb".equals(route.getUri().getScheme())
+                    || exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+            RouteState state = states.computeIfAbsent(route.getId(), id -> new RouteState(id, config));
+            state.budget.deposit();
+
+            long delay = state.hedgeDelayNanos(config);
+            if (delay < 0) {
+                return forward(exchange, chain, state);
+            }
+            if (state.budget.balance() < 1) {
+                state.budgetExhausted.increment();
+                return forward(exchange, chain, state);
+            }
+            String serviceId = route.getUri().getHost();
+            ServiceInstanceListSupplier supplier = clientFactory.getInstance(serviceId, ServiceInstanceListSupplier.class);
+            if (supplier == null) {
+                return forward(exchange, chain, state);
+            }
+            return supplier.get().next()
+                    .defaultIfEmpty(List.of())
+                    .flatMap(instances -> instances.size() < 2
+                            ? forward(exchange, chain, state)
+                            : hedged(exchange, route, serviceId, instances, state, delay));
+        };
+    }
+
+    // Pas de seconde tentative possible : chemin standard, dont la durée (jusqu'aux en-têtes) alimente le p95
+    private static Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, RouteState state) {
+        long start = System.nanoTime();
+        return chain.filter(exchange).doOnSuccess(v -> state.latency.record(System.nanoTime() - start));
+    }
+
+    private Mono<Void> hedged(ServerWebExchange exchange, Route route, String serviceId,
+                              List<ServiceInstance> instances, RouteState state, long delay) {
+        ServiceInstance primary = choose(serviceId, instances, null);
+        HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters(), exchange);
+        AtomicReference<Attempt> winner = new AtomicReference<>();
+        long start = System.nanoTime();
+
+        // Latence propre de la première tentative, pas celle de la réponse retenue : sinon le p95 ne
+        // verrait que des latences déjà écourtées par le hedging. Annulée (la seconde a gagné), elle a
+        // duré au moins jusque-là : cette borne basse est enregistrée.
+        Mono<Attempt> first = call(exchange, route, primary, headers)
+                .doOnNext(a -> state.latency.record(System.nanoTime() - start))
+                .doOnCancel(() -> state.latency.record(System.nanoTime() - start))
+                .filter(a -> claim(winner, a));
+
+        Mono<Attempt> second = Mono.delay(Duration.ofNanos(delay))
+                .flatMap(tick -> {
+                    if (!state.budget.tryWithdraw()) {
+                        state.budgetExhausted.increment();
+                        return Mono.empty();
+                    }
+                    ServiceInstance alternate = choose(serviceId, instances, primary);
+                    state.sent.increment();
+                    return call(exchange, route, alternate, headers)
+                            .filter(a -> claim(winner, a))
+                            .doOnNext(a -> state.won.increment());
+                });
+
+        return Mono.firstWithValue(first, second)
+                // Aucune tentative n'a abouti : on remonte l'erreur de la première
+                .onErrorMap(NoSuchElementException.class,
+                        e -> e.getSuppressed().length > 0 ? e.getSuppressed()[0] : e)
+                .doOnNext(attempt -> route(exchange, attempt))
+                .then();
+    }
+
+    // Seule la première réponse reçue est gardée ; la connexion d'une réponse arrivée trop tard est fermée
+    private static boolean claim(AtomicReference<Attempt> winner, Attempt attempt) {
+        if (winner.compareAndSet(null, attempt)) {
+            return true;
+        }
+        attempt.connection().dispose();
+        return false;
+    }
+
+    // Instance choisie par le load balancer de la route, en excluant éventuellement une instance
+    private ServiceInstance choose(String serviceId, List<ServiceInstance> instances, ServiceInstance excluded) {
+        List<ServiceInstance> candidates = excluded == null ? instances
+                : instances.stream().filter(i -> !sameInstance(i, excluded)).toList();
+        if (clientFactory.getInstance(serviceId) instanceof LatencyAwareLoadBalancer loadBalancer) {
+            return loadBalancer.choose(candidates).getServer();
+        }
+        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        return a.getHost().equals(b.getHost()) && a.getPort() == b.getPort();
+    }
+
+    // Une tentative, comme NettyRoutingFilter : émise à la réception des en-têtes, le corps reste sur la connexion
+    private Mono<Attempt> call(ServerWebExchange exchange, Route route, ServiceInstance instance, HttpHeaders headers) {
+        URI url = LoadBalancerUriTools.reconstructURI(instance, exchange.getRequest().getURI());
+        boolean preserveHost = exchange.getAttributeOrDefault(PRESERVE_HOST_HEADER_ATTRIBUTE, false);
+        String host = exchange.getRequest().getHeaders().getFirst(HttpHeaders.HOST);
+        long start = System.nanoTime();
+        statsRegistry.requestStarted(instance);
+        AtomicReference<Attempt> received = new AtomicReference<>();
+
+        Mono<Attempt> attempt = httpClient(route)
+                .headers(h -> {
+                    headers.forEach(h::set);
+                    h.remove(HttpHeaders.HOST);
+                    if (preserveHost && host != null) {
+                        h.add(HttpHeaders.HOST, host);
+                    }
+                })
+                .request(io.netty.handler.codec.http.HttpMethod.GET)
+                .uri(url.toASCIIString())
+                .responseConnection((response, connection) -> Mono.just(new Attempt(url, response, connection)))
+                .singleOrEmpty();
+
+        Duration timeout = responseTimeout(route);
+        if (timeout != null) {
+            attempt = attempt.timeout(timeout).onErrorMap(TimeoutException.class, e -> new ResponseStatusException(
+                    HttpStatus.GATEWAY_TIMEOUT, "Response took longer than timeout: " + timeout, e));
+        }
+        return attempt
+                .doOnNext(received::set)
+                .doFinally(signal -> {
+                    long latency = System.nanoTime() - start;
+                    Attempt a = received.get();
+                    if (signal == SignalType.CANCEL && a == null) {
+                        statsRegistry.requestCancelled(instance);
+                    } else if (a == null || a.response().status().code() >= 500) {
+                        statsRegistry.requestFailed(instance, latency);
+                    } else {
+                        statsRegistry.requestSucceeded(instance, latency);
+                    }
+                });
+    }
+
+    // Réponse retenue : statut et en-têtes filtrés recopiés, connexion confiée à NettyWriteResponseFilter
+    // qui transmet le corps une fois la chaîne terminée (après le filtre CircuitBreaker, qui voit le statut)
+    private void route(ServerWebExchange exchange, Attempt attempt) {
+        setAlreadyRouted(exchange);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, attempt.url());
+        exchange.getAttributes().put(CLIENT_RESPONSE_ATTR, attempt.response());
+        exchange.getAttributes().put(CLIENT_RESPONSE_CONN_ATTR, attempt.connection());
+
+        HttpHeaders headers = new HttpHeaders();
+        attempt.response().responseHeaders().forEach(e -> headers.add(e.getKey(), e.getValue()));
+        String contentType = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+        if (StringUtils.hasLength(contentType)) {
+            exchange.getAttributes().put(ORIGINAL_RESPONSE_CONTENT_TYPE_ATTR, contentType);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatusCode.valueOf(attempt.response().status().code()));
+        HttpHeaders filtered = HttpHeadersFilter.filter(headersFilters(), headers, exchange, HttpHeadersFilter.Type.RESPONSE);
+        if (!filtered.containsKey(HttpHeaders.TRANSFER_ENCODING) && filtered.containsKey(HttpHeaders.CONTENT_LENGTH)) {
+            response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        }
+        exchange.getAttributes().put(CLIENT_RESPONSE_HEADER_NAMES, filtered.keySet());
+        response.getHeaders().addAll(filtered);
+    }
+
+    // Délai de connexion par route (métadonnée connect-timeout), comme NettyRoutingFilter
+    private HttpClient httpClient(Route route) {
+        Object connectTimeout = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            return httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        return httpClient;
+    }
+
+    // Délai d'attente des en-têtes : métadonnée response-timeout (négative = aucun), sinon spring.cloud.gateway.httpclient
+    private Duration responseTimeout(Route route) {
+        Object responseTimeout = route.getMetadata().get(RESPONSE_TIMEOUT_ATTR);
+        if (responseTimeout != null) {
+            long millis = Long.parseLong(responseTimeout.toString());
+            return millis >= 0 ? Duration.ofMillis(millis) : null;
+        }
+        return httpClientProperties.getResponseTimeout();
+    }
+
+    private List<HttpHeadersFilter> headersFilters() {
+        return headersFiltersProvider.getIfAvailable(List::of);
+    }
+
+    private record Attempt(URI url, HttpClientResponse response, Connection connection) {
+    }
+
+    /**
+     * État par route : fenêtre de latences, budget de tentatives et métriques Micrometer
+     * (gateway.hedge.sent, gateway.hedge.won, gateway.hedge.budget.exhausted,
+     * gateway.hedge.budget.balance, gateway.hedge.delay).
+     */
+    private class RouteState {
+
+        final LatencyTracker latency;
+        final RetryBudget budget;
+        final Counter sent;
+        final Counter won;
+        final Counter budgetExhausted;
+
+        RouteState(String routeId, Config config) {
+            this.latency = new LatencyTracker(config.getWindowSize(), config.getPercentile());
+            this.budget = new RetryBudget(config.getBudgetRatio(), config.getBudgetMaxBalance());
+            this.sent = meterRegistry.counter("gateway.hedge.sent", "route", routeId);
+            this.won = meterRegistry.counter("gateway.hedge.won", "route", routeId);
+            this.budgetExhausted = meterRegistry.counter("gateway.hedge.budget.exhausted", "route", routeId);
+            Gauge.builder("gateway.hedge.budget.balance", budget, RetryBudget::balance)
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.hedge.delay", this, s -> Math.max(0, s.hedgeDelayNanos(config)) / 1_000_000.0)
+                    .tag("route", routeId)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+
+        // Délai avant la seconde tentative : percentile borné, -1 tant que la fenêtre est trop petite
+        long hedgeDelayNanos(Config config) {
+            if (latency.count() < config.getMinSamples()) {
+                return -1;
+            }
+            long p = latency.percentileNanos();
+            return Math.max(config.getMinDelay().toNanos(), Math.min(p, config.getMaxDelay().toNanos()));
+        }
+    }
+
+    @Data
+    public static class Config {
+
+        /** Percentile de latence après lequel la seconde tentative part. */
+        private double percentile = 0.95;
+
+        /** Nombre de latences conservées pour le calcul du percentile. */
+        private int windowSize = 512;
+
+        /** Pas de hedging tant que la fenêtre contient moins de mesures. */
+        private int minSamples = 50;
+
+        private Duration minDelay = Duration.ofMillis(10);
+
+        private Duration maxDelay = Duration.ofSeconds(1);
+
+        /** Secondes tentatives autorisées par requête (0.1 = au plus 10 % de trafic en plus). */
+        private double budgetRatio = 0.1;
+
+        /** Solde maximal du budget, c'est-à-dire la rafale de secondes tentatives autorisée. */
+        private double budgetMaxBalance = 10;
+    }
+}
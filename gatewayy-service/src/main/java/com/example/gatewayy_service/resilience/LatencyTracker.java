@@ -0,0 +1,52 @@
+package com.example.gatewayy_service.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Fenêtre glissante des dernières latences d'une route, pour estimer un percentile (p95).
+ * Le percentile est recalculé toutes les RECOMPUTE_EVERY mesures, pas à chaque lecture.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples;
+    private final double percentile;
+    private int count;
+    private int next;
+    private int sinceRecompute;
+    private long cachedNanos = -1;
+
+    public LatencyTracker(int windowSize, double percentile) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (++sinceRecompute >= RECOMPUTE_EVERY) {
+            cachedNanos = -1;
+        }
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    // Percentile des mesures de la fenêtre, -1 si aucune mesure
+    public synchronized long percentileNanos() {
+        if (count == 0) {
+            return -1;
+        }
+        if (cachedNanos < 0) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            cachedNanos = sorted[Math.max(0, Math.min(index, count - 1))];
+            sinceRecompute = 0;
+        }
+        return cachedNanos;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.gatewayy_service.resilience;
+
+/**
+ * Budget de tentatives supplémentaires (seau à jetons) : chaque requête dépose ratio jeton,
+ * chaque tentative supplémentaire en consomme un. Le solde est plafonné à maxBalance,
+ * donc les tentatives supplémentaires ne dépassent jamais ratio x trafic (+ maxBalance en rafale).
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxBalance;
+    private double balance;
+
+    public RetryBudget(double ratio, double maxBalance) {
+        this.ratio = ratio;
+        this.maxBalance = maxBalance;
+    }
+
+    public synchronized void deposit() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (balance < 1) {
+            return false;
+        }
+        balance -= 1;
+        return true;
+    }
+
+    public synchronized double balance() {
+        return balance;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.gatewayy_service.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+class LatencyAwareLoadBalancerTests {
+
+    private final LatencyAwareLoadBalancerProperties properties = new LatencyAwareLoadBalancerProperties();
+    private final InstanceStatsRegistry registry = new InstanceStatsRegistry(properties);
+    private final LatencyAwareLoadBalancer loadBalancer = new LatencyAwareLoadBalancer(null, registry, properties);
+
+    private final ServiceInstance fast = instance(1);
+    private final ServiceInstance slow = instance(2);
+
+    @Test
+    void prefersLowerLatencyInstance() {
+        registry.requestStarted(fast);
+        registry.requestSucceeded(fast, Duration.ofMillis(10).toNanos());
+        registry.requestStarted(slow);
+        registry.requestSucceeded(slow, Duration.ofMillis(500).toNanos());
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.choose(List.of(fast, slow)).getServer()).isEqualTo(fast);
+        }
+    }
+
+    @Test
+    void inFlightRequestsOffsetLatency() {
+        registry.requestStarted(fast);
+        registry.requestSucceeded(fast, Duration.ofMillis(10).toNanos());
+        registry.requestStarted(slow);
+        registry.requestSucceeded(slow, Duration.ofMillis(20).toNanos());
+        for (int i = 0; i < 5; i++) {
+            registry.requestStarted(fast);
+        }
+
+        assertThat(loadBalancer.choose(List.of(fast, slow)).getServer()).isEqualTo(slow);
+    }
+
+    @Test
+    void staleLatencyDecaysTowardInitialLatency() {
+        registry.requestStarted(slow);
+        registry.requestSucceeded(slow, Duration.ofSeconds(2).toNanos());
+        InstanceStats stats = registry.get(slow);
+        long initial = properties.getInitialLatency().toNanos();
+        long decay = properties.getEwmaDecay().toNanos();
+
+        double now = stats.ewmaNanos(initial, decay, System.nanoTime());
+        double later = stats.ewmaNanos(initial, decay, System.nanoTime() + 10 * decay);
+
+        assertThat(now).isGreaterThan(Duration.ofSeconds(1).toNanos());
+        assertThat(later).isCloseTo(initial, withinPercentage(1));
+    }
+
+    @Test
+    void spreadsLoadAcrossEquivalentInstances() {
+        List<ServiceInstance> instances = List.of(instance(1), instance(2), instance(3), instance(4));
+        Map<ServiceInstance, Integer> hits = new HashMap<>();
+        for (int i = 0; i < 400; i++) {
+            hits.merge(loadBalancer.choose(instances).getServer(), 1, Integer::sum);
+        }
+
+        assertThat(hits).hasSize(4);
+    }
+
+    @Test
+    void ejectsInstanceAfterConsecutiveFailures() {
+        for (int i = 0; i < properties.getEjectionThreshold(); i++) {
+            registry.requestStarted(slow);
+            registry.requestFailed(slow, Duration.ofMillis(5).toNanos());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.choose(List.of(fast, slow)).getServer()).isEqualTo(fast);
+        }
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        for (int i = 0; i < properties.getEjectionThreshold() - 1; i++) {
+            registry.requestStarted(slow);
+            registry.requestFailed(slow, Duration.ofMillis(5).toNanos());
+        }
+        registry.requestStarted(slow);
+        registry.requestSucceeded(slow, Duration.ofMillis(5).toNanos());
+        registry.requestStarted(slow);
+        registry.requestFailed(slow, Duration.ofMillis(5).toNanos());
+
+        assertThat(registry.get(slow).isEjected(System.nanoTime())).isFalse();
+    }
+
+    @Test
+    void keepsServingWhenEveryInstanceIsEjected() {
+        for (ServiceInstance instance : List.of(fast, slow)) {
+            for (int i = 0; i < properties.getEjectionThreshold(); i++) {
+                registry.requestStarted(instance);
+                registry.requestFailed(instance, Duration.ofMillis(5).toNanos());
+            }
+        }
+
+        assertThat(loadBalancer.choose(List.of(fast, slow)).hasServer()).isTrue();
+    }
+
+    @Test
+    void forgetsInstancesMissingFromDiscovery() {
+        ServiceInstance robot = new DefaultServiceInstance("robot-1", "robot-service", "10.0.1.1", 8083, false);
+        for (ServiceInstance instance : List.of(fast, slow, robot)) {
+            registry.requestStarted(instance);
+            registry.requestSucceeded(instance, Duration.ofMillis(5).toNanos());
+        }
+
+        registry.retain("waste-service", List.of(fast));
+
+        assertThat(registry.size()).isEqualTo(2); // fast + robot (autre service)
+    }
+
+    @Test
+    void keepsMissingInstanceWhileRequestsAreInFlight() {
+        registry.requestStarted(slow);
+
+        registry.retain("waste-service", List.of(fast));
+        assertThat(registry.get(slow).inFlight()).isEqualTo(1);
+
+        registry.requestSucceeded(slow, Duration.ofMillis(5).toNanos());
+        registry.retain("waste-service", List.of(fast));
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void refreshingSupplierPrunesVanishedInstances() throws Exception {
+        registry.requestStarted(slow);
+        registry.requestSucceeded(slow, Duration.ofMillis(5).toNanos());
+        ServiceInstanceListSupplier discovery = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return "waste-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.just(List.of(fast));
+            }
+        };
+
+        RefreshingServiceInstanceListSupplier supplier =
+                new RefreshingServiceInstanceListSupplier(discovery, registry, Duration.ofHours(1));
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (registry.size() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(registry.size()).isZero();
+        } finally {
+            supplier.destroy();
+        }
+    }
+
+    @Test
+    void emptyRefreshKeepsCachedInstancesAndEjection() throws Exception {
+        for (int i = 0; i < properties.getEjectionThreshold(); i++) {
+            registry.requestStarted(slow);
+            registry.requestFailed(slow, Duration.ofMillis(5).toNanos());
+        }
+        Thread caller = Thread.currentThread();
+        AtomicReference<List<ServiceInstance>> discovered = new AtomicReference<>(List.of(fast, slow));
+        AtomicInteger refreshes = new AtomicInteger();
+        AtomicInteger callerSubscriptions = new AtomicInteger();
+        ServiceInstanceListSupplier discovery = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return "waste-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.defer(() -> {
+                    (Thread.currentThread() == caller ? callerSubscriptions : refreshes).incrementAndGet();
+                    return Flux.just(discovered.get());
+                });
+            }
+        };
+
+        RefreshingServiceInstanceListSupplier supplier =
+                new RefreshingServiceInstanceListSupplier(discovery, registry, Duration.ofMillis(10));
+        try {
+            awaitRefreshes(refreshes, 2);
+            // Consul répond vide pendant plusieurs rafraîchissements
+            discovered.set(List.of());
+            awaitRefreshes(refreshes, refreshes.get() + 3);
+
+            for (int i = 0; i < 10; i++) {
+                assertThat(supplier.get().blockFirst()).containsExactly(fast, slow);
+            }
+            assertThat(callerSubscriptions).hasValue(0);
+            assertThat(registry.size()).isEqualTo(1);
+            assertThat(registry.get(slow).isEjected(System.nanoTime())).isTrue();
+        } finally {
+            supplier.destroy();
+        }
+    }
+
+    private static void awaitRefreshes(AtomicInteger refreshes, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (refreshes.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(refreshes.get()).isGreaterThanOrEqualTo(count);
+    }
+
+    private static ServiceInstance instance(int n) {
+        return new DefaultServiceInstance("waste-" + n, "waste-service", "10.0.0." + n, 8081, false);
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.gatewayy_service.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Filtre Hedge de bout en bout : gateway sur un port aléatoire, deux instances stub de stub-service
+ * (découverte simple, sans Consul) et des routes de test, chacune avec son budget et son circuit breaker.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cloud.consul.enabled=false",
+        // XForwardedHeadersFilter n'est enregistré qu'avec des proxies de confiance
+        "spring.cloud.gateway.trusted-proxies=127\\.0\\.0\\.1|0:0:0:0:0:0:0:1",
+        "resilience4j.timelimiter.instances.stall-test.timeout-duration=1s"
+})
+class HedgeGatewayFilterTests {
+
+    // Délai fixe avant la seconde tentative (minDelay = maxDelay)
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(100);
+    private static final Duration SLOW = Duration.ofMillis(1500);
+
+    private static final Map<String, AtomicInteger> ARRIVALS = new ConcurrentHashMap<>();
+    private static final Set<String> CANCELLED = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger FAILURES = new AtomicInteger();
+
+    private static final DisposableServer BACKEND_A = backend("a");
+    private static final DisposableServer BACKEND_B = backend("b");
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @DynamicPropertySource
+    static void stubInstances(DynamicPropertyRegistry registry) {
+        registry.add("spring.cloud.discovery.client.simple.instances.stub-service[0].uri",
+                () -> "http://localhost:" + BACKEND_A.port());
+        registry.add("spring.cloud.discovery.client.simple.instances.stub-service[1].uri",
+                () -> "http://localhost:" + BACKEND_B.port());
+    }
+
+    @AfterAll
+    static void stopBackends() {
+        BACKEND_A.disposeNow();
+        BACKEND_B.disposeNow();
+    }
+
+    @Test
+    void slowPrimaryIsHedgedAndCancelled() {
+        warmUp("/hedge");
+        String id = UUID.randomUUID().toString();
+
+        long start = System.nanoTime();
+        EntityExchangeResult<String> result = client.get().uri("/hedge/slow-first?id=" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(SLOW);
+        assertThat(result.getResponseBody()).startsWith("fast-");
+        assertThat(result.getResponseHeaders().getFirst("X-Saw-Forwarded")).isEqualTo("true");
+        assertThat(ARRIVALS.get(id)).hasValue(2);
+        awaitCancelled(id);
+        assertThat(meterRegistry.counter("gateway.hedge.won", "route", "hedge-test").count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void exhaustedBudgetSendsNoSecondAttempt() {
+        warmUp("/budget");
+        String id = UUID.randomUUID().toString();
+
+        client.get().uri("/budget/slow-first?id=" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).value(body -> assertThat(body).startsWith("slow-"));
+
+        assertThat(ARRIVALS.get(id)).hasValue(1);
+        assertThat(meterRegistry.counter("gateway.hedge.budget.exhausted", "route", "budget-test").count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void postIsNeverHedged() {
+        warmUp("/hedge");
+        String id = UUID.randomUUID().toString();
+
+        client.post().uri("/hedge/slow-first?id=" + id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).value(body -> assertThat(body).startsWith("slow-"));
+
+        assertThat(ARRIVALS.get(id)).hasValue(1);
+    }
+
+    @Test
+    void serverErrorsTripCircuitBreaker() {
+        warmUp("/failing");
+        CircuitBreaker breaker = circuitBreakerRegistry.circuitBreaker("failing-test");
+
+        for (int i = 0; i < 10 && breaker.getState() == CircuitBreaker.State.CLOSED; i++) {
+            client.get().uri("/failing/fail").exchange().expectStatus().is5xxServerError();
+        }
+        int failuresWhenOpened = FAILURES.get();
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        client.get().uri("/failing/fail").exchange().expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(FAILURES).hasValue(failuresWhenOpened);
+    }
+
+    @Test
+    void timeLimiterOverrunReturnsGatewayTimeout() {
+        warmUp("/stall");
+
+        long start = System.nanoTime();
+        client.get().uri("/stall/stall").exchange().expectStatus().isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+    }
+
+    // Remplit la fenêtre de latence de la route (minSamples) par le chemin standard
+    private void warmUp(String prefix) {
+        for (int i = 0; i < 10; i++) {
+            client.get().uri(prefix + "/fast").exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals("X-Saw-Forwarded", "true");
+        }
+    }
+
+    private static void awaitCancelled(String id) {
+        long deadline = System.nanoTime() + SLOW.toNanos();
+        while (!CANCELLED.contains(id) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(CANCELLED).contains(id);
+    }
+
+    private static DisposableServer backend(String name) {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/fast", (req, res) -> send(req, res, "fast-" + name))
+                        .get("/slow-first", (req, res) -> slowFirst(req, res, name))
+                        .post("/slow-first", (req, res) -> slowFirst(req, res, name))
+                        .get("/fail", (req, res) -> {
+                            FAILURES.incrementAndGet();
+                            return res.status(500).sendString(Mono.just("boom")).then();
+                        })
+                        .get("/stall", (req, res) -> Mono.delay(Duration.ofSeconds(5))
+                                .then(send(req, res, "stall-" + name))))
+                .bindNow();
+    }
+
+    // Première tentative d'un id lente, les suivantes immédiates
+    private static Mono<Void> slowFirst(HttpServerRequest req, HttpServerResponse res, String name) {
+        String id = new QueryStringDecoder(req.uri()).parameters().get("id").get(0);
+        if (ARRIVALS.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet() > 1) {
+            return send(req, res, "fast-" + name);
+        }
+        req.withConnection(connection -> connection.onDispose(() -> CANCELLED.add(id)));
+        return Mono.delay(SLOW).then(Mono.defer(() -> {
+            CANCELLED.remove(id);
+            return send(req, res, "slow-" + name);
+        }));
+    }
+
+    private static Mono<Void> send(HttpServerRequest req, HttpServerResponse res, String body) {
+        return res.header("X-Saw-Forwarded", String.valueOf(req.requestHeaders().contains("X-Forwarded-For")))
+                .sendString(Mono.just(body))
+                .then();
+    }
+
+    @TestConfiguration
+    static class TestRoutes {
+
+        @Bean
+        RouteLocator hedgeTestRoutes(RouteLocatorBuilder builder, HedgeGatewayFilterFactory hedge) {
+            HedgeGatewayFilterFactory.Config config = hedgeConfig();
+            HedgeGatewayFilterFactory.Config noBudget = hedgeConfig();
+            noBudget.setBudgetRatio(0);
+            return builder.routes()
+                    .route("hedge-test", r -> r.path("/hedge/**")
+                            .filters(f -> f.stripPrefix(1)
+                                    .circuitBreaker(c -> c.setName("hedge-test"))
+                                    .filter(hedge.apply(config)))
+                            .uri("lb://stub-service"))
+                    .route("budget-test", r -> r.path("/budget/**")
+                            .filters(f -> f.stripPrefix(1)
+                                    .circuitBreaker(c -> c.setName("budget-test"))
+                                    .filter(hedge.apply(noBudget)))
+                            .uri("lb://stub-service"))
+                    .route("failing-test", r -> r.path("/failing/**")
+                            .filters(f -> f.stripPrefix(1)
+                                    .circuitBreaker(c -> c.setName("failing-test").addStatusCode("500"))
+                                    .filter(hedge.apply(config)))
+                            .uri("lb://stub-service"))
+                    .route("stall-test", r -> r.path("/stall/**")
+                            .filters(f -> f.stripPrefix(1)
+                                    .circuitBreaker(c -> c.setName("stall-test"))
+                                    .filter(hedge.apply(config)))
+                            .uri("lb://stub-service"))
+                    .build();
+        }
+
+        private static HedgeGatewayFilterFactory.Config hedgeConfig() {
+            HedgeGatewayFilterFactory.Config config = new HedgeGatewayFilterFactory.Config();
+            config.setMinSamples(5);
+            config.setMinDelay(HEDGE_DELAY);
+            config.setMaxDelay(HEDGE_DELAY);
+            config.setBudgetRatio(1);
+            return config;
+        }
+    }
+}
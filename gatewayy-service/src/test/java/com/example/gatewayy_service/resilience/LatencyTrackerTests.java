@@ -0,0 +1,38 @@
+package com.example.gatewayy_service.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyTrackerTests {
+
+    @Test
+    void noSamplesMeansNoPercentile() {
+        assertThat(new LatencyTracker(16, 0.95).percentileNanos()).isEqualTo(-1);
+    }
+
+    @Test
+    void computesPercentileOfWindow() {
+        LatencyTracker tracker = new LatencyTracker(100, 0.95);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+
+        assertThat(tracker.percentileNanos()).isEqualTo(95);
+    }
+
+    @Test
+    void oldSamplesLeaveTheWindow() {
+        LatencyTracker tracker = new LatencyTracker(64, 0.95);
+        for (int i = 0; i < 64; i++) {
+            tracker.record(1_000);
+        }
+        assertThat(tracker.percentileNanos()).isEqualTo(1_000);
+
+        for (int i = 0; i < 64; i++) {
+            tracker.record(10);
+        }
+        assertThat(tracker.count()).isEqualTo(64);
+        assertThat(tracker.percentileNanos()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.gatewayy_service.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetryBudgetTests {
+
+    @Test
+    void emptyBudgetRefusesWithdrawal() {
+        RetryBudget budget = new RetryBudget(0.1, 10);
+
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+
+    @Test
+    void extraAttemptsStayWithinRatio() {
+        RetryBudget budget = new RetryBudget(0.1, 10);
+        int granted = 0;
+        for (int i = 0; i < 1000; i++) {
+            budget.deposit();
+            if (budget.tryWithdraw()) {
+                granted++;
+            }
+        }
+
+        assertThat(granted).isBetween(99, 100);
+    }
+
+    @Test
+    void balanceIsCapped() {
+        RetryBudget budget = new RetryBudget(0.5, 3);
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.balance()).isEqualTo(3);
+        int burst = 0;
+        while (budget.tryWithdraw()) {
+            burst++;
+        }
+        assertThat(burst).isEqualTo(3);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.robot_service.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Encodages binaires pour les liaisons mobiles des robots, choisis par l'en-tête Accept / Content-Type :
+ * application/cbor et application/x-jackson-smile. JSON reste le format par défaut (convertisseur placé devant).
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder;
+
+    public WebConfig(ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilder) {
+        this.mapperBuilder = mapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVC enregistre déjà ses convertisseurs CBOR / Smile (ObjectMapper par défaut, dates en secondes
+        // décimales) : ils sont remplacés à leur position, sinon ils passeraient avant ceux-ci
+        replace(converters, MappingJackson2CborHttpMessageConverter.class,
+                new MappingJackson2CborHttpMessageConverter(binaryMapper(new CBORFactory())));
+
+        // Smile : noms de champs et valeurs courtes répétés encodés par référence (listes de robots / déchets)
+        SmileFactory smile = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        replace(converters, MappingJackson2SmileHttpMessageConverter.class,
+                new MappingJackson2SmileHttpMessageConverter(binaryMapper(smile)));
+    }
+
+    private static void replace(List<HttpMessageConverter<?>> converters, Class<?> type,
+                                HttpMessageConverter<?> converter) {
+        int index = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                index = i;
+                break;
+            }
+        }
+        converters.removeIf(type::isInstance);
+        converters.add(index, converter);
+    }
+
+    // Même configuration que le JSON (modules, propriétés spring.jackson.*),
+    // mais dates en millisecondes epoch plutôt qu'en chaînes ISO
+    private ObjectMapper binaryMapper(JsonFactory factory) {
+        return mapperBuilder.getObject()
+                .factory(factory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.robot_service.controller;
 
+import com.example.robot_service.dto.RobotPage;
 import com.example.robot_service.model.Robot;
 import com.example.robot_service.service.RobotService;
 import org.springframework.web.bind.annotation.*;
@@ -29,6 +30,19 @@ public class RobotController {
         return service.findAll();
     }
 
+    // Recherche côté serveur : filtres, tri et pagination par curseur (vue liste légère)
+    @GetMapping("/search")
+    public RobotPage search(@RequestParam(required = false) String region,
+                            @RequestParam(required = false) Boolean status,
+                            @RequestParam(required = false) String model,
+                            @RequestParam(required = false) String adminId,
+                            @RequestParam(defaultValue = "id") String sort,
+                            @RequestParam(defaultValue = "asc") String direction,
+                            @RequestParam(required = false) Integer size,
+                            @RequestParam(required = false) String cursor) {
+        return service.search(region, status, model, adminId, sort, direction, size, cursor);
+    }
+
     @GetMapping("/{id}")
     public Robot getById(@PathVariable Long id) {
         return service.findById(id).orElse(null);
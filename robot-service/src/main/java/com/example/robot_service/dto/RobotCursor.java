@@ -0,0 +1,54 @@
+package com.example.robot_service.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Position keyset : tri d'origine (colonne, sens), valeur de la colonne de tri et id du dernier robot renvoyé.
+ * Transmise au client sous forme opaque (JSON encodé en Base64 URL).
+ */
+public record RobotCursor(String sortField, Sort.Direction direction, Object sortValue, Long id) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public String encode() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("s", sortField);
+        keys.put("d", direction.name());
+        keys.put("v", sortValue);
+        keys.put("id", id);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (IOException e) {
+            throw new IllegalStateException("Impossible d'encoder le curseur", e);
+        }
+    }
+
+    /**
+     * Indique si le curseur a été produit par le même tri : sinon sa valeur n'a pas de sens
+     * (voire pas le bon type) pour la colonne demandée.
+     */
+    public boolean matches(String sortField, Sort.Direction direction) {
+        return this.sortField.equals(sortField) && this.direction == direction;
+    }
+
+    public static RobotCursor decode(String cursor) {
+        try {
+            Map<?, ?> keys = MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), Map.class);
+            if (!(keys.get("id") instanceof Number id)) {
+                throw new IllegalArgumentException("Curseur sans id");
+            }
+            if (!(keys.get("s") instanceof String sortField) || !(keys.get("d") instanceof String direction)) {
+                throw new IllegalArgumentException("Curseur sans tri");
+            }
+            return new RobotCursor(sortField, Sort.Direction.fromString(direction), keys.get("v"), id.longValue());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
+    }
+}
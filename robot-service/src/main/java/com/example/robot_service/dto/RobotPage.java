@@ -0,0 +1,11 @@
+package com.example.robot_service.dto;
+
+import java.util.List;
+
+/**
+ * Page de résultats paginée par curseur (keyset).
+ * nextCursor est à renvoyer tel quel pour obtenir la page suivante,
+ * il vaut null quand il n'y a plus de résultats.
+ */
+public record RobotPage(List<RobotSummary> items, String nextCursor, boolean hasNext) {
+}
@@ -0,0 +1,8 @@
+package com.example.robot_service.dto;
+
+/**
+ * Projection légère d'un robot pour les vues liste :
+ * seules ces colonnes sont lues en base (pas de description).
+ */
+public record RobotSummary(Long id, String macAddress, boolean status, String region, String model, String adminId) {
+}
@@ -7,7 +7,13 @@ import org.hibernate.validator.constraints.UniqueElements;
 
 @Data
 @Entity
-@Table(name = "robots")
+@Table(name = "robots", indexes = {
+        // Index composites (filtre, id) : servent le filtre ET la pagination par curseur.
+        // Pas d'index sur status (deux valeurs) : le planner lui préfère la clé primaire
+        @Index(name = "idx_robots_region_id", columnList = "region, id"),
+        @Index(name = "idx_robots_model_id", columnList = "model, id"),
+        @Index(name = "idx_robots_admin_id_id", columnList = "adminId, id")
+})
 public class Robot {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -7,7 +7,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface RobotRepository extends JpaRepository<Robot, Long> {
+public interface RobotRepository extends JpaRepository<Robot, Long>, RobotSearchRepository {
 
     List<Robot> findByAdminId(String adminId);
 }
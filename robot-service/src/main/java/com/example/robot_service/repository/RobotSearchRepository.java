@@ -0,0 +1,25 @@
+package com.example.robot_service.repository;
+
+import com.example.robot_service.dto.RobotCursor;
+import com.example.robot_service.dto.RobotSummary;
+import com.example.robot_service.model.Robot;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Fragment de RobotRepository : recherche projetée en RobotSummary
+ * avec pagination par curseur (keyset) plutôt que par offset.
+ */
+public interface RobotSearchRepository {
+
+    /**
+     * @param filter    filtres (voir RobotSpecifications)
+     * @param sortField colonne de tri, id sert toujours de second critère
+     * @param after     position du dernier élément de la page précédente, null pour la première page
+     * @param limit     nombre maximal de lignes renvoyées
+     */
+    List<RobotSummary> search(Specification<Robot> filter, String sortField, Sort.Direction direction,
+                              RobotCursor after, int limit);
+}
@@ -0,0 +1,118 @@
+package com.example.robot_service.repository;
+
+import com.example.robot_service.dto.RobotCursor;
+import com.example.robot_service.dto.RobotSummary;
+import com.example.robot_service.model.Robot;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class RobotSearchRepositoryImpl implements RobotSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RobotSummary> search(Specification<Robot> filter, String sortField, Sort.Direction direction,
+                                     RobotCursor after, int limit) {
+        if (after == null) {
+            return search(filter, sortField, direction, (root, cb) -> null, limit);
+        }
+        // Une requête par segment, dans l'ordre du tri, jusqu'à remplir la page
+        List<RobotSummary> rows = new ArrayList<>();
+        for (Segment segment : segmentsAfter(sortField, direction, after)) {
+            rows.addAll(search(filter, sortField, direction, segment, limit - rows.size()));
+            if (rows.size() >= limit) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    private List<RobotSummary> search(Specification<Robot> filter, String sortField, Sort.Direction direction,
+                                      Segment segment, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RobotSummary> query = cb.createQuery(RobotSummary.class);
+        Root<Robot> root = query.from(Robot.class);
+
+        query.select(cb.construct(RobotSummary.class,
+                root.get("id"), root.get("macAddress"), root.get("status"),
+                root.get("region"), root.get("model"), root.get("adminId")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filterPredicate = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (filterPredicate != null) {
+            predicates.add(filterPredicate);
+        }
+        Predicate segmentPredicate = segment.toPredicate(root, cb);
+        if (segmentPredicate != null) {
+            predicates.add(segmentPredicate);
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        boolean asc = direction.isAscending();
+        if ("id".equals(sortField)) {
+            query.orderBy(asc ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+        } else {
+            // NULL explicitement en fin (ASC) / en tête (DESC), comme l'index Postgres
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            query.orderBy(
+                    asc ? hcb.asc(root.get(sortField), false) : hcb.desc(root.get(sortField), true),
+                    asc ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Lignes strictement après le curseur dans l'ordre (sortField, id), découpées en segments
+     * dont chacun se lit par un parcours d'index borné (Index Cond) plutôt que depuis le début de l'index :
+     * un OR englobant les NULL empêcherait Postgres de se positionner sur le curseur.
+     * NULL en dernier en ASC, en premier en DESC (voir orderBy).
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Segment> segmentsAfter(String sortField, Sort.Direction direction, RobotCursor after) {
+        boolean asc = direction.isAscending();
+        Segment idAfter = (root, cb) -> {
+            Path<Long> id = root.get("id");
+            return asc ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+        };
+        if ("id".equals(sortField)) {
+            return List.of(idAfter);
+        }
+
+        Comparable value = (Comparable) after.sortValue();
+        Segment nulls = (root, cb) -> cb.isNull(root.get(sortField));
+        if (value == null) {
+            Segment nullsAfter = (root, cb) -> cb.and(cb.isNull(root.get(sortField)), idAfter.toPredicate(root, cb));
+            Segment notNull = (root, cb) -> cb.isNotNull(root.get(sortField));
+            return asc ? List.of(nullsAfter) : List.of(nullsAfter, notNull);
+        }
+        // field >= v AND (field > v OR id > x) : la borne field >= v sert de condition d'index
+        Segment valuesAfter = (root, cb) -> {
+            Path<Comparable> field = root.get(sortField);
+            Predicate bound = asc ? cb.greaterThanOrEqualTo(field, value) : cb.lessThanOrEqualTo(field, value);
+            Predicate strictlyAfter = asc ? cb.greaterThan(field, value) : cb.lessThan(field, value);
+            return cb.and(bound, cb.or(strictlyAfter, idAfter.toPredicate(root, cb)));
+        };
+        return asc ? List.of(valuesAfter, nulls) : List.of(valuesAfter);
+    }
+
+    // Condition d'un segment du parcours keyset (null : pas de condition)
+    @FunctionalInterface
+    private interface Segment {
+        Predicate toPredicate(Root<Robot> root, CriteriaBuilder cb);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.robot_service.repository;
+
+import com.example.robot_service.model.Robot;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtres serveur pour la recherche de robots.
+ * Un filtre null n'ajoute aucun prédicat, ce qui laisse Postgres
+ * choisir l'index correspondant aux seuls filtres renseignés.
+ */
+public final class RobotSpecifications {
+
+    private RobotSpecifications() {
+    }
+
+    public static Specification<Robot> search(String region, Boolean status, String model, String adminId) {
+        return Specification.where(hasRegion(region))
+                .and(hasStatus(status))
+                .and(hasModel(model))
+                .and(hasAdminId(adminId));
+    }
+
+    public static Specification<Robot> hasRegion(String region) {
+        return (root, query, cb) -> region == null ? null : cb.equal(root.get("region"), region);
+    }
+
+    public static Specification<Robot> hasStatus(Boolean status) {
+        return (root, query, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Robot> hasModel(String model) {
+        return (root, query, cb) -> model == null ? null : cb.equal(root.get("model"), model);
+    }
+
+    public static Specification<Robot> hasAdminId(String adminId) {
+        return (root, query, cb) -> adminId == null ? null : cb.equal(root.get("adminId"), adminId);
+    }
+}
@@ -1,15 +1,27 @@
 package com.example.robot_service.service;
 
+import com.example.robot_service.dto.RobotCursor;
+import com.example.robot_service.dto.RobotPage;
+import com.example.robot_service.dto.RobotSummary;
 import com.example.robot_service.model.Robot;
 import com.example.robot_service.repository.RobotRepository;
+import com.example.robot_service.repository.RobotSpecifications;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class RobotService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "region", "model", "status");
+
     private final RobotRepository repository;
 
     public RobotService(RobotRepository repository) {
@@ -37,6 +49,57 @@ public class RobotService {
         return repository.findByAdminId(adminId);
     }
 
+    // SEARCH (filtres serveur + pagination par curseur)
+    public RobotPage search(String region, Boolean status, String model, String adminId,
+                            String sortField, String direction, Integer size, String cursor) {
+        if (!SORTABLE_FIELDS.contains(sortField)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tri non supporté : " + sortField);
+        }
+        Sort.Direction dir = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Direction invalide : " + direction));
+        int limit = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        RobotCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : RobotCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Curseur invalide");
+        }
+        if (after != null && (!after.matches(sortField, dir) || !isSortValueOf(after.sortValue(), sortField))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Curseur d'un autre tri que " + sortField + " " + dir);
+        }
+
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        List<RobotSummary> rows = repository.search(
+                RobotSpecifications.search(region, status, model, adminId),
+                sortField, dir, after, limit + 1);
+
+        if (rows.size() <= limit) {
+            return new RobotPage(rows, null, false);
+        }
+        List<RobotSummary> items = rows.subList(0, limit);
+        RobotSummary last = items.get(limit - 1);
+        return new RobotPage(List.copyOf(items), new RobotCursor(sortField, dir, sortValue(last, sortField), last.id()).encode(), true);
+    }
+
+    // Valeur de tri du curseur compatible avec la colonne (curseur forgé ou altéré)
+    private static boolean isSortValueOf(Object value, String sortField) {
+        return switch (sortField) {
+            case "region", "model" -> value == null || value instanceof String;
+            case "status" -> value instanceof Boolean;
+            default -> true;
+        };
+    }
+
+    private static Object sortValue(RobotSummary robot, String sortField) {
+        return switch (sortField) {
+            case "region" -> robot.region();
+            case "model" -> robot.model();
+            case "status" -> robot.status();
+            default -> robot.id();
+        };
+    }
+
     // DELETE
     public void delete(Long id) {
         repository.deleteById(id);
@@ -0,0 +1,145 @@
+package com.example.robot_service.controller;
+
+import com.example.robot_service.model.Robot;
+import com.example.robot_service.service.RobotService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Négociation JSON / CBOR / Smile sur /api/robots et comparaison des tailles de réponse.
+ */
+@Slf4j
+@WebMvcTest(RobotController.class)
+class RobotEncodingTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RobotService service;
+
+    @Test
+    void jsonRemainsDefault() throws Exception {
+        when(service.findAll()).thenReturn(robots(3));
+
+        mockMvc.perform(get("/api/robots"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void cborAndSmileRoundTrip() throws Exception {
+        List<Robot> robots = robots(3);
+        when(service.findAll()).thenReturn(robots);
+
+        assertThat(decode(fetch(MediaType.APPLICATION_CBOR), new CBORFactory())).containsExactlyElementsOf(robots);
+        assertThat(decode(fetch(SMILE), new SmileFactory())).containsExactlyElementsOf(robots);
+    }
+
+    @Test
+    void acceptsSmileBody() throws Exception {
+        Robot robot = robots(1).get(0);
+        when(service.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ObjectMapper smile = new ObjectMapper(new SmileFactory());
+        MvcResult result = mockMvc.perform(post("/api/robots")
+                        .contentType(SMILE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(smile.writeValueAsBytes(robot)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        assertThat(new ObjectMapper().readValue(result.getResponse().getContentAsByteArray(), Robot.class))
+                .isEqualTo(robot);
+    }
+
+    // En-tête Smile ":)\n" puis un octet de drapeaux : 0x02 = valeurs de chaînes partagées
+    @Test
+    void smileSharesStringValues() throws Exception {
+        when(service.findAll()).thenReturn(robots(3));
+
+        byte[] smile = fetch(SMILE);
+
+        assertThat(smile[3] & 0x02).isEqualTo(0x02);
+    }
+
+    // Tailles brutes et gzip d'une liste de robots, par encodage
+    @Test
+    void binaryPayloadsAreSmallerThanJson() throws Exception {
+        when(service.findAll()).thenReturn(robots(500));
+
+        byte[] json = fetch(MediaType.APPLICATION_JSON);
+        byte[] cbor = fetch(MediaType.APPLICATION_CBOR);
+        byte[] smile = fetch(SMILE);
+
+        log.info("json {} o ({} o gzip), cbor {} o ({} o gzip), smile {} o ({} o gzip)",
+                json.length, gzip(json).length, cbor.length, gzip(cbor).length, smile.length, gzip(smile).length);
+
+        // Mesuré : json 75 452, cbor 60 617, smile 28 075 octets
+        assertThat(cbor.length).isLessThan(62_000);
+        assertThat(smile.length).isLessThan(30_000);
+    }
+
+    private byte[] fetch(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get("/api/robots").header(HttpHeaders.ACCEPT, mediaType.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static List<Robot> decode(byte[] body, JsonFactory factory) throws IOException {
+        return List.of(new ObjectMapper(factory).readValue(body, Robot[].class));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Robot> robots(int count) {
+        List<Robot> robots = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Robot robot = new Robot();
+            robot.setId((long) i + 1);
+            robot.setMacAddress("00:1a:2b:3c:%02x:%02x".formatted(i / 256, i % 256));
+            robot.setStatus(i % 3 != 0);
+            robot.setRegion("region-" + (i % 8));
+            robot.setDescription("Robot de collecte " + (i + 1));
+            robot.setModel("WB-" + (i % 4));
+            robot.setAdminId("admin-" + (i % 5));
+            robots.add(robot);
+        }
+        return robots;
+    }
+}
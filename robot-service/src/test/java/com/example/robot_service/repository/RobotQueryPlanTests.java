@@ -0,0 +1,203 @@
+package com.example.robot_service.repository;
+
+import com.example.robot_service.dto.RobotCursor;
+import com.example.robot_service.dto.RobotSummary;
+import com.example.robot_service.model.Robot;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vérifie, sur un vrai Postgres, que les requêtes générées par RobotRepository.search
+ * sont servies par les index déclarés sur l'entité Robot, le curseur servant de borne au parcours d'index.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.robot_service.repository.RobotQueryPlanTests$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class RobotQueryPlanTests {
+
+    private static final int ROWS = 60_000;
+
+    @Container
+    @ServiceConnection
+    // Protocole simple : EXPLAIN (GENERIC_PLAN) garde les $n sans que le driver attende de paramètres liés
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withUrlParam("preferQueryMode", "simple");
+
+    @Autowired
+    private RobotRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Volume suffisant pour que le planner préfère de lui-même les index (seq scan autorisé)
+        jdbcTemplate.update("""
+                INSERT INTO robots (mac_address, status, region, model, admin_id)
+                SELECT 'mac-' || i, i % 3 = 0, 'region-' || (i % 200),
+                       CASE WHEN i % 97 = 0 THEN NULL ELSE 'model-' || (i % 100) END, 'admin-' || (i % 500)
+                FROM generate_series(1, ?) AS i
+                """, ROWS);
+        jdbcTemplate.execute("ANALYZE robots");
+    }
+
+    @Test
+    void regionFilterUsesRegionIndex() {
+        String sql = capture(() -> repository.search(
+                RobotSpecifications.search("region-3", null, null, null), "id", Sort.Direction.ASC, null, 51));
+
+        assertThat(indexCond(explain(sql), "idx_robots_region_id")).contains("region");
+    }
+
+    @Test
+    void regionFilterWithCursorSeeksToCursor() {
+        String sql = capture(() -> repository.search(
+                RobotSpecifications.search("region-3", null, null, null), "id", Sort.Direction.ASC,
+                new RobotCursor("id", Sort.Direction.ASC, 100L, 100L), 51));
+
+        assertThat(indexCond(explain(sql), "idx_robots_region_id")).contains("region").contains("id >");
+    }
+
+    // status n'a que deux valeurs : la clé primaire, parcourue à rebours depuis le curseur, est plus rentable
+    @Test
+    void statusFilterWithCursorSeeksToCursor() {
+        String sql = capture(() -> repository.search(
+                RobotSpecifications.search(null, true, null, null), "id", Sort.Direction.DESC,
+                new RobotCursor("id", Sort.Direction.DESC, 5000L, 5000L), 51));
+
+        assertThat(indexCond(explain(sql), "robots_pkey")).contains("id <");
+    }
+
+    @Test
+    void modelFilterUsesModelIndex() {
+        String sql = capture(() -> repository.search(
+                RobotSpecifications.search(null, null, "model-4", null), "id", Sort.Direction.DESC, null, 51));
+
+        assertThat(indexCond(explain(sql), "idx_robots_model_id")).contains("model");
+    }
+
+    @Test
+    void adminFilterUsesAdminIndex() {
+        String sql = capture(() -> repository.search(
+                RobotSpecifications.search(null, null, null, "admin-7"), "id", Sort.Direction.ASC, null, 51));
+
+        assertThat(indexCond(explain(sql), "idx_robots_admin_id_id")).contains("admin_id");
+    }
+
+    @Test
+    void sortByModelSeeksToCursor() {
+        String sql = capture(() -> repository.search(
+                RobotSpecifications.search(null, null, null, null), "model", Sort.Direction.ASC,
+                new RobotCursor("model", Sort.Direction.ASC, "model-2", 42L), 51));
+
+        assertThat(indexCond(explain(sql), "idx_robots_model_id")).contains("model").contains(">= $");
+    }
+
+    @Test
+    void sortByModelDescSeeksToCursor() {
+        String sql = capture(() -> repository.search(
+                RobotSpecifications.search(null, null, null, null), "model", Sort.Direction.DESC,
+                new RobotCursor("model", Sort.Direction.DESC, "model-50", 42L), 51));
+
+        assertThat(indexCond(explain(sql), "idx_robots_model_id")).contains("model").contains("<= $");
+    }
+
+    @Test
+    void cursorPagesVisitEveryRowOnceIncludingNulls() {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            Specification<Robot> filter = RobotSpecifications.search(null, true, null, null);
+            List<RobotSummary> all = new ArrayList<>();
+            RobotCursor cursor = null;
+            List<RobotSummary> page;
+            do {
+                page = repository.search(filter, "model", direction, cursor, 500);
+                all.addAll(page);
+                if (!page.isEmpty()) {
+                    RobotSummary last = page.get(page.size() - 1);
+                    cursor = new RobotCursor("model", direction, last.model(), last.id());
+                }
+            } while (page.size() == 500);
+
+            // (model NULLS LAST, id) en ASC, exactement l'inverse en DESC
+            Comparator<RobotSummary> ascending = Comparator
+                    .comparing(RobotSummary::model, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                    .thenComparing(RobotSummary::id);
+            Comparator<RobotSummary> byModel = direction.isAscending() ? ascending : ascending.reversed();
+            assertThat(all).hasSize(ROWS / 3).isSortedAccordingTo(byModel)
+                    .extracting(RobotSummary::id).doesNotHaveDuplicates();
+        }
+    }
+
+    private String capture(Runnable search) {
+        SqlCapture.STATEMENTS.clear();
+        search.run();
+        return SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+
+    // Plan générique (Postgres 16+) : les "?" JDBC deviennent des paramètres $n
+    private String explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numbered, String.class);
+        return String.join("\n", plan);
+    }
+
+    // Condition d'index du parcours de l'index attendu : le parcours se positionne sur les bornes, pas au début
+    private static String indexCond(String plan, String index) {
+        String[] lines = plan.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].contains("using " + index)) {
+                for (int j = i + 1; j < lines.length && !lines[j].contains("->"); j++) {
+                    if (lines[j].contains("Index Cond:")) {
+                        return lines[j];
+                    }
+                }
+                throw new AssertionError("Parcours de " + index + " sans Index Cond :\n" + plan);
+            }
+        }
+        throw new AssertionError(index + " absent du plan :\n" + plan);
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.robot_service.repository;
+
+import com.example.robot_service.dto.RobotCursor;
+import com.example.robot_service.dto.RobotSummary;
+import com.example.robot_service.model.Robot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pagination par curseur de RobotRepository.search sur H2 (toujours exécutée, sans Docker) :
+ * chaque ligne revient une et une seule fois, dans l'ordre (colonne NULLS LAST, id) ou son inverse.
+ * Les plans d'exécution, eux, sont vérifiés sur Postgres par RobotQueryPlanTests.
+ */
+@DataJpaTest
+class RobotSearchPaginationTests {
+
+    private static final int ROWS = 400;
+    private static final int PAGE_SIZE = 7;
+
+    @Autowired
+    private RobotRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        List<Robot> robots = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Robot robot = new Robot();
+            robot.setMacAddress("mac-" + i);
+            robot.setStatus(i % 3 == 0);
+            robot.setRegion("region-" + (i % 5));
+            robot.setModel(i % 7 == 0 ? null : "model-" + (i % 9));
+            robot.setAdminId("admin-" + (i % 11));
+            robots.add(robot);
+        }
+        repository.saveAll(robots);
+    }
+
+    @Test
+    void pagesByModelIncludingNulls() {
+        assertVisitsEveryRowOnceInOrder(null, robot -> true, "model", RobotSummary::model);
+        assertVisitsEveryRowOnceInOrder(RobotSpecifications.search(null, true, null, null), Robot::isStatus,
+                "model", RobotSummary::model);
+    }
+
+    @Test
+    void pagesByRegion() {
+        assertVisitsEveryRowOnceInOrder(null, robot -> true, "region", RobotSummary::region);
+        assertVisitsEveryRowOnceInOrder(RobotSpecifications.search(null, null, null, "admin-3"),
+                robot -> robot.getAdminId().equals("admin-3"), "region", RobotSummary::region);
+    }
+
+    @Test
+    void pagesById() {
+        assertVisitsEveryRowOnceInOrder(RobotSpecifications.search("region-2", null, null, null),
+                robot -> robot.getRegion().equals("region-2"), "id", RobotSummary::id);
+    }
+
+    // matches : même filtre que la Specification, évalué en mémoire sur toutes les lignes
+    private <T extends Comparable<T>> void assertVisitsEveryRowOnceInOrder(Specification<Robot> filter, Predicate<Robot> matches,
+                                                                             String sortField, Function<RobotSummary, T> sortValue) {
+        Comparator<RobotSummary> ascending = Comparator
+                .comparing(sortValue, Comparator.nullsLast(Comparator.<T>naturalOrder()))
+                .thenComparing(RobotSummary::id);
+        List<RobotSummary> matching = repository.findAll().stream()
+                .filter(matches)
+                .map(r -> new RobotSummary(r.getId(), r.getMacAddress(), r.isStatus(), r.getRegion(), r.getModel(), r.getAdminId()))
+                .toList();
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            List<RobotSummary> all = new ArrayList<>();
+            RobotCursor cursor = null;
+            List<RobotSummary> page;
+            do {
+                page = repository.search(filter, sortField, direction, cursor, PAGE_SIZE);
+                all.addAll(page);
+                if (!page.isEmpty()) {
+                    RobotSummary last = page.get(page.size() - 1);
+                    cursor = new RobotCursor(sortField, direction, sortValue.apply(last), last.id());
+                }
+            } while (page.size() == PAGE_SIZE);
+
+            List<RobotSummary> expected = matching.stream()
+                    .sorted(direction.isAscending() ? ascending : ascending.reversed())
+                    .toList();
+            assertThat(all).as("%s %s", sortField, direction).containsExactlyElementsOf(expected);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.robot_service.service;
+
+import com.example.robot_service.dto.RobotCursor;
+import com.example.robot_service.dto.RobotPage;
+import com.example.robot_service.dto.RobotSummary;
+import com.example.robot_service.repository.RobotRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class RobotServiceSearchTests {
+
+    private final RobotRepository repository = mock(RobotRepository.class);
+    private final RobotService service = new RobotService(repository);
+
+    @Test
+    void nextCursorCarriesSortAndDirection() {
+        when(repository.search(any(), eq("model"), eq(Sort.Direction.DESC), any(), anyInt())).thenReturn(List.of(
+                new RobotSummary(7L, "mac-7", true, "nord", "WB-2", "admin-1"),
+                new RobotSummary(3L, "mac-3", true, "nord", "WB-1", "admin-1")));
+
+        RobotPage page = service.search(null, null, null, null, "model", "desc", 1, null);
+
+        assertThat(RobotCursor.decode(page.nextCursor()))
+                .isEqualTo(new RobotCursor("model", Sort.Direction.DESC, "WB-2", 7L));
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        String cursor = new RobotCursor("model", Sort.Direction.ASC, "WB-2", 42L).encode();
+
+        assertBadRequest(() -> service.search(null, null, null, null, "status", "asc", 10, cursor));
+        assertBadRequest(() -> service.search(null, null, null, null, "model", "desc", 10, cursor));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void rejectsCursorWithWrongValueType() {
+        String cursor = new RobotCursor("status", Sort.Direction.ASC, "WB-2", 42L).encode();
+
+        assertBadRequest(() -> service.search(null, null, null, null, "status", "asc", 10, cursor));
+        verifyNoInteractions(repository);
+    }
+
+    private static void assertBadRequest(Runnable search) {
+        assertThatThrownBy(search::run)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,126 @@
+#!/usr/bin/env bash
+#
+# Mesure du temps de démarrage des services Spring Boot :
+# temps entre le lancement de la JVM et la première réponse UP de /actuator/health.
+#
+# Prérequis : MongoDB, PostgreSQL et Consul démarrés, puis pour chaque service
+#   mvn -Pfast-startup package -DskipTests
+#
+# Usage : scripts/measure-startup.sh [-n essais] [-m standard|fast|both] [service...]
+#   ex.   scripts/measure-startup.sh -n 5 waste-service robot-service
+#
+# Variables : TIMEOUT_SECONDS (180 par défaut), APP_ARGS (arguments ajoutés à chaque service)
+# Résultat : une ligne CSV par essai (service,mode,essai,ms) puis la médiane par service/mode.
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+RUNS=3
+MODE=both
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+# Arguments supplémentaires passés à chaque service (ex. APP_ARGS="--spring.cloud.consul.host=consul")
+read -r -a APP_ARGS <<<"${APP_ARGS:-}"
+
+declare -A PORTS=(
+  [waste-service]=8081
+  [gatewayy-service]=8082
+  [robot-service]=8083
+  [admin-service]=8084
+)
+
+while getopts "n:m:" opt; do
+  case "$opt" in
+    n) RUNS="$OPTARG" ;;
+    m) MODE="$OPTARG" ;;
+    *) sed -n '2,14p' "$0"; exit 1 ;;
+  esac
+done
+shift $((OPTIND - 1))
+
+SERVICES=("$@")
+if [ ${#SERVICES[@]} -eq 0 ]; then
+  SERVICES=(waste-service robot-service admin-service gatewayy-service)
+fi
+
+case "$MODE" in
+  standard) MODES=(standard) ;;
+  fast) MODES=(fast) ;;
+  both) MODES=(standard fast) ;;
+  *) echo "Mode inconnu : $MODE" >&2; exit 1 ;;
+esac
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Lance le service, attend /actuator/health UP, affiche la durée en ms (ou "timeout")
+measure() {
+  local service="$1" mode="$2" port="${PORTS[$1]}"
+  local target="$ROOT/$service/target"
+  local jar dir
+  local -a cmd
+
+  if [ "$mode" = fast ]; then
+    dir="$target/fast-startup"
+    jar="$(cd "$dir" && ls "$service"-*.jar)"
+    cmd=(java -XX:SharedArchiveFile=application.jsa -Xlog:cds=off
+         -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup -jar "$jar")
+  else
+    dir="$target"
+    jar="$(cd "$dir" && ls "$service"-*.jar)"
+    cmd=(java -jar "$jar")
+  fi
+
+  local log="$target/startup-$mode.log"
+  local start pid elapsed=timeout
+  start=$(now_ms)
+  (cd "$dir" && exec "${cmd[@]}" "${APP_ARGS[@]}") >"$log" 2>&1 &
+  pid=$!
+
+  while [ $(( $(now_ms) - start )) -lt $(( TIMEOUT_SECONDS * 1000 )) ]; do
+    if curl -fs "http://localhost:$port/actuator/health" 2>/dev/null | grep -q '"status":"UP"'; then
+      elapsed=$(( $(now_ms) - start ))
+      break
+    fi
+    if ! kill -0 "$pid" 2>/dev/null; then
+      elapsed=failed
+      break
+    fi
+    sleep 0.05
+  done
+
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+median() {
+  sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "-"; else print v[int((NR + 1) / 2)] }'
+}
+
+echo "service,mode,essai,ms"
+declare -A RESULTS=()
+for service in "${SERVICES[@]}"; do
+  if [ -z "${PORTS[$service]:-}" ]; then
+    echo "Service inconnu : $service" >&2
+    exit 1
+  fi
+  for mode in "${MODES[@]}"; do
+    for run in $(seq 1 "$RUNS"); do
+      ms=$(measure "$service" "$mode")
+      echo "$service,$mode,$run,$ms"
+      if [[ "$ms" =~ ^[0-9]+$ ]]; then
+        RESULTS["$service/$mode"]+="$ms "
+      fi
+    done
+  done
+done
+
+echo
+echo "Médianes (ms) :"
+for service in "${SERVICES[@]}"; do
+  for mode in "${MODES[@]}"; do
+    printf '  %-18s %-9s %s\n' "$service" "$mode" \
+      "$(tr ' ' '\n' <<<"${RESULTS["$service/$mode"]:-}" | grep . | median)"
+  done
+done
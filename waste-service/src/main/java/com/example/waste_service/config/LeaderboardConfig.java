@@ -0,0 +1,41 @@
+package com.example.waste_service.config;
+
+import com.example.waste_service.leaderboard.LeaderboardHistoryLoader;
+import com.example.waste_service.leaderboard.LeaderboardProperties;
+import com.example.waste_service.leaderboard.ProductivityLeaderboard;
+import com.example.waste_service.repository.WasteRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
+import java.util.concurrent.Executor;
+
+// Classement de productivité robots / régions, en mémoire, complété depuis Mongo après le démarrage
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(LeaderboardProperties.class)
+public class LeaderboardConfig {
+
+    @Bean
+    public ProductivityLeaderboard productivityLeaderboard(LeaderboardProperties properties) {
+        return new ProductivityLeaderboard(properties, Clock.systemUTC());
+    }
+
+    @Bean
+    public LeaderboardHistoryLoader leaderboardHistoryLoader(
+            ProductivityLeaderboard leaderboard, WasteRepository repository,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        return new LeaderboardHistoryLoader(leaderboard, repository, executor);
+    }
+
+    // Profil fast-startup (initialisation paresseuse) : le classement compte dès le démarrage, pas à la première requête
+    @Bean
+    public static LazyInitializationExcludeFilter leaderboardLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(LeaderboardHistoryLoader.class);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.waste_service.controller;
+
+import com.example.waste_service.leaderboard.Leaderboard;
+import com.example.waste_service.leaderboard.LeaderboardDimension;
+import com.example.waste_service.leaderboard.LeaderboardWindow;
+import com.example.waste_service.leaderboard.ProductivityLeaderboard;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/wastes/leaderboard")
+public class LeaderboardController {
+
+    private final ProductivityLeaderboard leaderboard;
+
+    public LeaderboardController(ProductivityLeaderboard leaderboard) {
+        this.leaderboard = leaderboard;
+    }
+
+    // Robots ou régions les plus productifs sur 5m, 1h ou 1d (servi depuis la mémoire)
+    @GetMapping
+    public Leaderboard top(@RequestParam(defaultValue = "robot") String by,
+                           @RequestParam(defaultValue = "1h") String window,
+                           @RequestParam(required = false) Integer limit) {
+        int size = limit == null ? leaderboard.maxSize() : limit;
+        if (size < 1 || size > leaderboard.maxSize()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit doit être entre 1 et " + leaderboard.maxSize());
+        }
+        try {
+            return leaderboard.top(LeaderboardDimension.fromLabel(by), LeaderboardWindow.fromLabel(window), size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
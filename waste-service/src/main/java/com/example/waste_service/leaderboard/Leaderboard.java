@@ -0,0 +1,15 @@
+package com.example.waste_service.leaderboard;
+
+import java.time.Instant;
+import java.util.List;
+
+// Classement d'une dimension sur une fenêtre, tel que calculé à computedAt
+public record Leaderboard(LeaderboardDimension by,
+                          LeaderboardWindow window,
+                          Instant computedAt,
+                          List<LeaderboardEntry> entries) {
+
+    Leaderboard limit(int limit) {
+        return entries.size() <= limit ? this : new Leaderboard(by, window, computedAt, entries.subList(0, limit));
+    }
+}
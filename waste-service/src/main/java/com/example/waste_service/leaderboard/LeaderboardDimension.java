@@ -0,0 +1,26 @@
+package com.example.waste_service.leaderboard;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+/**
+ * Clé de regroupement du classement : robot (robotId) ou région.
+ */
+public enum LeaderboardDimension {
+    ROBOT,
+    REGION;
+
+    @JsonValue
+    public String getLabel() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static LeaderboardDimension fromLabel(String label) {
+        try {
+            return valueOf(label.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Dimension inconnue : " + label);
+        }
+    }
+}
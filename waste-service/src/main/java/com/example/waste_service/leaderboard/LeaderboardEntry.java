@@ -0,0 +1,5 @@
+package com.example.waste_service.leaderboard;
+
+// Une ligne du classement : robotId ou région, et nombre de déchets collectés sur la fenêtre
+public record LeaderboardEntry(String key, long count) {
+}
@@ -0,0 +1,52 @@
+package com.example.waste_service.leaderboard;
+
+import com.example.waste_service.model.Waste;
+import com.example.waste_service.repository.WasteRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * Relit la dernière journée de déchets une fois l'application prête, sur l'exécuteur de tâches :
+ * le démarrage n'attend pas Mongo, et l'exécution d'entraînement CDS (spring.context.exit=onRefresh),
+ * arrêtée avant cet événement, ne lit rien. Pendant la relecture, le classement compte déjà les nouveaux déchets.
+ */
+@Slf4j
+public class LeaderboardHistoryLoader implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final ProductivityLeaderboard leaderboard;
+    private final WasteRepository repository;
+    private final Executor executor;
+
+    public LeaderboardHistoryLoader(ProductivityLeaderboard leaderboard, WasteRepository repository, Executor executor) {
+        this.leaderboard = leaderboard;
+        this.repository = repository;
+        this.executor = executor;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        executor.execute(this::load);
+    }
+
+    void load() {
+        Instant liveSince = leaderboard.liveSince();
+        Instant since = liveSince.minus(LeaderboardWindow.longest().getDuration());
+        try (Stream<Waste> history = repository.streamCreatedBefore(since, firstIdOf(liveSince))) {
+            leaderboard.merge(history);
+        } catch (DataAccessException e) {
+            log.warn("Historique du classement non relu, seuls les nouveaux déchets sont comptés", e);
+        }
+    }
+
+    // Plus petit ObjectId de la seconde de l'instant : horodatage sur 4 octets, aléa et compteur à zéro
+    static ObjectId firstIdOf(Instant instant) {
+        return new ObjectId("%08x%016x".formatted(instant.getEpochSecond(), 0));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.waste_service.leaderboard;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Réglages du classement de productivité (préfixe waste.leaderboard).
+ * La période de recalcul (waste.leaderboard.refresh-interval, 1s par défaut) est lue par @Scheduled.
+ */
+@Data
+@ConfigurationProperties(prefix = "waste.leaderboard")
+public class LeaderboardProperties {
+
+    /** Nombre de lignes conservées par classement (dimension × fenêtre). */
+    private int topK = 10;
+}
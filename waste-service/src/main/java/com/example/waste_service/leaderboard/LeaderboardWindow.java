@@ -0,0 +1,44 @@
+package com.example.waste_service.leaderboard;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Fenêtres du classement et taille de leurs buckets (5 min : 30 × 10 s, 1 h : 60 × 1 min, 1 j : 96 × 15 min).
+ */
+@Getter
+public enum LeaderboardWindow {
+    FIVE_MINUTES("5m", Duration.ofMinutes(5), Duration.ofSeconds(10)),
+    ONE_HOUR("1h", Duration.ofHours(1), Duration.ofMinutes(1)),
+    ONE_DAY("1d", Duration.ofDays(1), Duration.ofMinutes(15));
+
+    private final String label;
+    private final Duration duration;
+    private final Duration bucket;
+
+    LeaderboardWindow(String label, Duration duration, Duration bucket) {
+        this.label = label;
+        this.duration = duration;
+        this.bucket = bucket;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    // Plus longue fenêtre : borne de l'historique relu au démarrage
+    public static LeaderboardWindow longest() {
+        return ONE_DAY;
+    }
+
+    public static LeaderboardWindow fromLabel(String label) {
+        return Arrays.stream(values())
+                .filter(window -> window.label.equalsIgnoreCase(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Fenêtre inconnue : " + label));
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.waste_service.leaderboard;
+
+import com.example.waste_service.model.Waste;
+import org.bson.types.ObjectId;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Classement en mémoire des robots et régions les plus productifs sur 5 min, 1 h et 1 j.
+ * <p>
+ * Chaque clé (robotId, région) a un compteur à buckets par fenêtre, incrémenté à l'ingestion.
+ * Les top-K sont recalculés périodiquement hors du chemin des requêtes et servis depuis un instantané.
+ * Les clés sans activité sur toutes les fenêtres sont retirées : la mémoire dépend du nombre de
+ * robots et régions actifs sur la dernière journée, pas de l'historique.
+ */
+public class ProductivityLeaderboard {
+
+    private static final LeaderboardWindow[] WINDOWS = LeaderboardWindow.values();
+
+    // Meilleur d'abord ; à égalité, ordre alphabétique pour un classement stable
+    private static final Comparator<LeaderboardEntry> RANKING =
+            Comparator.comparingLong(LeaderboardEntry::count).reversed().thenComparing(LeaderboardEntry::key);
+
+    private final LeaderboardProperties properties;
+    private final Clock clock;
+    private final Instant liveSince;
+    private final Map<LeaderboardDimension, ConcurrentHashMap<String, SlidingWindowCounter[]>> counters =
+            new EnumMap<>(LeaderboardDimension.class);
+
+    private volatile Map<LeaderboardDimension, Map<LeaderboardWindow, Leaderboard>> snapshot;
+    private volatile boolean historyMerged;
+
+    public ProductivityLeaderboard(LeaderboardProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.liveSince = clock.instant();
+        for (LeaderboardDimension dimension : LeaderboardDimension.values()) {
+            counters.put(dimension, new ConcurrentHashMap<>());
+        }
+        refresh();
+    }
+
+    public void record(Waste waste) {
+        record(waste, clock.millis());
+    }
+
+    /**
+     * Retire un déchet supprimé. Un document antérieur au démarrage n'est retiré qu'une fois l'historique fusionné :
+     * avant, la relecture lit déjà l'état à jour de Mongo.
+     */
+    public void remove(Waste waste) {
+        if (counted(waste)) {
+            long now = clock.millis();
+            long timestamp = timestampOf(waste, now);
+            decrement(LeaderboardDimension.ROBOT, waste.getRobotId(), timestamp, now);
+            decrement(LeaderboardDimension.REGION, waste.getRegion(), timestamp, now);
+        }
+    }
+
+    /**
+     * Déplace un déchet modifié (robot, région ou horodatage) : l'ancienne version est retirée, la nouvelle comptée.
+     */
+    public void update(Waste previous, Waste current) {
+        if (counted(previous)) {
+            remove(previous);
+            record(current);
+        }
+    }
+
+    /**
+     * Instant à partir duquel les nouveaux déchets sont comptés à l'ingestion.
+     */
+    public Instant liveSince() {
+        return liveSince;
+    }
+
+    /**
+     * Ajoute l'historique relu depuis Mongo alors que l'ingestion compte déjà. La limite porte sur la création
+     * du document (horodatage de l'ObjectId, posé par le service) et non sur le timestamp envoyé par le robot :
+     * un déchet détecté avant le démarrage mais reçu après a déjà été compté par {@link #record(Waste)}.
+     */
+    public void merge(Stream<Waste> history) {
+        long now = clock.millis();
+        history.filter(this::createdBeforeLive).forEach(waste -> record(waste, now));
+        historyMerged = true;
+        refresh();
+    }
+
+    public Leaderboard top(LeaderboardDimension by, LeaderboardWindow window, int limit) {
+        return snapshot.get(by).get(window).limit(limit);
+    }
+
+    public int maxSize() {
+        return properties.getTopK();
+    }
+
+    @Scheduled(fixedDelayString = "${waste.leaderboard.refresh-interval:1s}")
+    public void refresh() {
+        long now = clock.millis();
+        Instant computedAt = Instant.ofEpochMilli(now);
+        Map<LeaderboardDimension, Map<LeaderboardWindow, Leaderboard>> next = new EnumMap<>(LeaderboardDimension.class);
+        counters.forEach((dimension, keys) -> {
+            evictIdle(keys, now);
+            Map<LeaderboardWindow, Leaderboard> boards = new EnumMap<>(LeaderboardWindow.class);
+            for (LeaderboardWindow window : WINDOWS) {
+                boards.put(window, new Leaderboard(dimension, window, computedAt, topK(keys, window, now)));
+            }
+            next.put(dimension, boards);
+        });
+        snapshot = next;
+    }
+
+    // Granularité de l'ObjectId : la seconde ; les documents de la seconde de démarrage sont laissés au comptage en direct
+    private boolean createdBeforeLive(Waste waste) {
+        return waste.getId() != null && ObjectId.isValid(waste.getId())
+                && new ObjectId(waste.getId()).getTimestamp() < liveSince.getEpochSecond();
+    }
+
+    private boolean counted(Waste waste) {
+        return historyMerged || !createdBeforeLive(waste);
+    }
+
+    int trackedKeys(LeaderboardDimension dimension) {
+        return counters.get(dimension).size();
+    }
+
+    private void record(Waste waste, long now) {
+        long timestamp = timestampOf(waste, now);
+        increment(LeaderboardDimension.ROBOT, waste.getRobotId(), timestamp, now);
+        increment(LeaderboardDimension.REGION, waste.getRegion(), timestamp, now);
+    }
+
+    // Horodatage absent ou dans le futur (horloge du robot en avance) : compté à l'instant présent
+    private static long timestampOf(Waste waste, long now) {
+        return waste.getTimestamp() == null ? now : Math.min(waste.getTimestamp().toEpochMilli(), now);
+    }
+
+    private void increment(LeaderboardDimension dimension, String key, long timestamp, long now) {
+        if (key == null) {
+            return;
+        }
+        // compute : atomique par clé, pas de perte face au retrait concurrent dans evictIdle
+        counters.get(dimension).compute(key, (k, windows) -> {
+            if (windows == null) {
+                windows = new SlidingWindowCounter[WINDOWS.length];
+                for (LeaderboardWindow window : WINDOWS) {
+                    windows[window.ordinal()] = new SlidingWindowCounter(window);
+                }
+            }
+            for (SlidingWindowCounter counter : windows) {
+                counter.increment(timestamp, now);
+            }
+            return windows;
+        });
+    }
+
+    private void decrement(LeaderboardDimension dimension, String key, long timestamp, long now) {
+        if (key == null) {
+            return;
+        }
+        counters.get(dimension).computeIfPresent(key, (k, windows) -> {
+            for (SlidingWindowCounter counter : windows) {
+                counter.decrement(timestamp, now);
+            }
+            return windows;
+        });
+    }
+
+    private static void evictIdle(ConcurrentHashMap<String, SlidingWindowCounter[]> keys, long now) {
+        for (String key : keys.keySet()) {
+            keys.computeIfPresent(key, (k, windows) -> isIdle(windows, now) ? null : windows);
+        }
+    }
+
+    private static boolean isIdle(SlidingWindowCounter[] windows, long now) {
+        for (SlidingWindowCounter counter : windows) {
+            if (counter.sum(now) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Tas de taille K dont la tête est la moins bonne entrée retenue : O(n log K)
+    private List<LeaderboardEntry> topK(Map<String, SlidingWindowCounter[]> keys, LeaderboardWindow window, long now) {
+        int k = properties.getTopK();
+        PriorityQueue<LeaderboardEntry> heap = new PriorityQueue<>(k + 1, RANKING.reversed());
+        keys.forEach((key, windows) -> {
+            long count = windows[window.ordinal()].sum(now);
+            if (count > 0) {
+                heap.offer(new LeaderboardEntry(key, count));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+        });
+        List<LeaderboardEntry> top = new ArrayList<>(heap);
+        top.sort(RANKING);
+        return List.copyOf(top);
+    }
+}
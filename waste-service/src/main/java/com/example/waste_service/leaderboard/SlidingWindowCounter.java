@@ -0,0 +1,56 @@
+package com.example.waste_service.leaderboard;
+
+import java.util.Arrays;
+
+/**
+ * Compteur sur fenêtre glissante : anneau de buckets de durée fixe, chacun repéré par son numéro
+ * (timestamp / durée du bucket). Mémoire constante quel que soit l'historique ; précision d'un bucket.
+ */
+class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final long[] buckets;
+    private final long[] counts;
+
+    SlidingWindowCounter(LeaderboardWindow window) {
+        this.bucketMillis = window.getBucket().toMillis();
+        int size = (int) (window.getDuration().toMillis() / bucketMillis);
+        this.buckets = new long[size];
+        this.counts = new long[size];
+        Arrays.fill(buckets, Long.MIN_VALUE);
+    }
+
+    synchronized void increment(long timestampMillis, long nowMillis) {
+        long bucket = timestampMillis / bucketMillis;
+        if (bucket <= nowMillis / bucketMillis - buckets.length) {
+            return; // déjà sorti de la fenêtre
+        }
+        int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+        if (buckets[slot] != bucket) {
+            // Emplacement occupé par un bucket expiré : réutilisé
+            buckets[slot] = bucket;
+            counts[slot] = 0;
+        }
+        counts[slot]++;
+    }
+
+    // Retrait d'un événement compté : sans effet si son bucket est sorti de la fenêtre
+    synchronized void decrement(long timestampMillis, long nowMillis) {
+        long bucket = timestampMillis / bucketMillis;
+        int slot = (int) Math.floorMod(bucket, (long) buckets.length);
+        if (bucket > nowMillis / bucketMillis - buckets.length && buckets[slot] == bucket && counts[slot] > 0) {
+            counts[slot]--;
+        }
+    }
+
+    synchronized long sum(long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > current - buckets.length && buckets[i] <= current) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+}
@@ -1,12 +1,22 @@
 package com.example.waste_service.repository;
 
 import com.example.waste_service.model.Waste;
+import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface WasteRepository extends MongoRepository<Waste, String> {
     List<Waste> findByRobotId(String robotId);
+
+    // Historique du classement : curseur sur l'index timestamp, documents créés avant l'ObjectId donné,
+    // seuls robotId / region / timestamp sont lus
+    @Query(value = "{ 'timestamp': { '$gte': ?0 }, '_id': { '$lt': ?1 } }",
+            fields = "{ 'robotId': 1, 'region': 1, 'timestamp': 1 }")
+    Stream<Waste> streamCreatedBefore(Instant since, ObjectId before);
 }
@@ -1,5 +1,6 @@
 package com.example.waste_service.service;
 
+import com.example.waste_service.leaderboard.ProductivityLeaderboard;
 import com.example.waste_service.model.Waste;
 import com.example.waste_service.repository.WasteRepository;
 import org.springframework.stereotype.Service;
@@ -11,14 +12,20 @@ import java.util.Optional;
 public class WasteService {
 
     private final WasteRepository repository;
+    private final ProductivityLeaderboard leaderboard;
 
-    public WasteService(WasteRepository repository) {
+    public WasteService(WasteRepository repository, ProductivityLeaderboard leaderboard) {
         this.repository = repository;
+        this.leaderboard = leaderboard;
     }
 
     // CREATE / UPDATE
     public Waste save(Waste waste) {
-        return repository.save(waste);
+        // Mise à jour : le classement déplace l'ancienne version (robot, région, horodatage) sans compter une collecte de plus
+        Optional<Waste> previous = waste.getId() == null ? Optional.empty() : repository.findById(waste.getId());
+        Waste saved = repository.save(waste);
+        previous.ifPresentOrElse(old -> leaderboard.update(old, saved), () -> leaderboard.record(saved));
+        return saved;
     }
 
     // READ ALL
@@ -33,7 +40,9 @@ public class WasteService {
 
     // DELETE
     public void delete(String id) {
+        Optional<Waste> existing = repository.findById(id);
         repository.deleteById(id);
+        existing.ifPresent(leaderboard::remove);
     }
 
     // READ BY ROBOT
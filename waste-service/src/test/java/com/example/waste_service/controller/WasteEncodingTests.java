@@ -0,0 +1,168 @@
+package com.example.waste_service.controller;
+
+import com.example.waste_service.model.Waste;
+import com.example.waste_service.model.WasteCategory;
+import com.example.waste_service.service.WasteService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Négociation JSON / CBOR / Smile sur /api/wastes et comparaison des tailles de réponse.
+ */
+@Slf4j
+@WebMvcTest(WasteController.class)
+class WasteEncodingTests {
+
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WasteService service;
+
+    @Test
+    void jsonRemainsDefault() throws Exception {
+        when(service.findAll()).thenReturn(wastes(3));
+
+        mockMvc.perform(get("/api/wastes"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void cborAndSmileRoundTrip() throws Exception {
+        List<Waste> wastes = wastes(3);
+        when(service.findAll()).thenReturn(wastes);
+
+        assertThat(decode(fetch(MediaType.APPLICATION_CBOR), new CBORFactory())).containsExactlyElementsOf(wastes);
+        assertThat(decode(fetch(SMILE), new SmileFactory())).containsExactlyElementsOf(wastes);
+    }
+
+    @Test
+    void acceptsCborBody() throws Exception {
+        Waste waste = wastes(1).get(0);
+        when(service.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        byte[] body = mapper(new CBORFactory()).writeValueAsBytes(waste);
+        MvcResult result = mockMvc.perform(post("/api/wastes")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Waste saved = mapper(new CBORFactory()).readValue(result.getResponse().getContentAsByteArray(), Waste.class);
+        assertThat(saved.getId()).isNull();
+        assertThat(saved.getTimestamp()).isEqualTo(waste.getTimestamp());
+        assertThat(saved.getRobotId()).isEqualTo(waste.getRobotId());
+    }
+
+    @Test
+    void binaryDatesAreEpochMillis() throws Exception {
+        when(service.findAll()).thenReturn(wastes(1));
+
+        for (JsonNode node : List.of(new ObjectMapper(new CBORFactory()).readTree(fetch(MediaType.APPLICATION_CBOR)),
+                new ObjectMapper(new SmileFactory()).readTree(fetch(SMILE)))) {
+            JsonNode timestamp = node.get(0).get("timestamp");
+            assertThat(timestamp.isIntegralNumber()).as("timestamp %s", timestamp).isTrue();
+            assertThat(timestamp.longValue()).isEqualTo(1_760_000_000_000L);
+        }
+    }
+
+    // En-tête Smile ":)\n" puis un octet de drapeaux : 0x02 = valeurs de chaînes partagées
+    @Test
+    void smileSharesStringValues() throws Exception {
+        when(service.findAll()).thenReturn(wastes(3));
+
+        byte[] smile = fetch(SMILE);
+
+        assertThat(smile[3] & 0x02).isEqualTo(0x02);
+    }
+
+    // Tailles brutes et gzip d'une liste de déchets, par encodage
+    @Test
+    void binaryPayloadsAreSmallerThanJson() throws Exception {
+        when(service.findAll()).thenReturn(wastes(500));
+
+        byte[] json = fetch(MediaType.APPLICATION_JSON);
+        byte[] cbor = fetch(MediaType.APPLICATION_CBOR);
+        byte[] smile = fetch(SMILE);
+
+        log.info("json {} o ({} o gzip), cbor {} o ({} o gzip), smile {} o ({} o gzip)",
+                json.length, gzip(json).length, cbor.length, gzip(cbor).length, smile.length, gzip(smile).length);
+
+        // Mesuré : json 62 801, cbor 46 303, smile 21 970 octets
+        assertThat(cbor.length).isLessThan(48_000);
+        assertThat(smile.length).isLessThan(24_000);
+    }
+
+    private byte[] fetch(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get("/api/wastes").header(HttpHeaders.ACCEPT, mediaType.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static List<Waste> decode(byte[] body, JsonFactory factory) throws IOException {
+        return List.of(mapper(factory).readValue(body, Waste[].class));
+    }
+
+    // Dates échangées en millisecondes epoch dans les encodages binaires
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .findAndRegisterModules()
+                .disable(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Waste> wastes(int count) {
+        WasteCategory[] categories = WasteCategory.values();
+        List<Waste> wastes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Waste waste = new Waste();
+            waste.setId("%024x".formatted(i));
+            waste.setTimestamp(Instant.ofEpochMilli(1_760_000_000_000L + i * 1_500L));
+            waste.setCategory(categories[i % categories.length]);
+            waste.setRegion("region-" + (i % 8));
+            waste.setRobotId(String.valueOf(i % 25));
+            wastes.add(waste);
+        }
+        return wastes;
+    }
+}
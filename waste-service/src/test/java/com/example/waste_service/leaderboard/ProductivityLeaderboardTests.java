@@ -0,0 +1,200 @@
+package com.example.waste_service.leaderboard;
+
+import com.example.waste_service.model.Waste;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductivityLeaderboardTests {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-10-19T12:00:00Z"));
+
+    @Test
+    void ranksRobotsAndRegionsPerWindow() {
+        ProductivityLeaderboard leaderboard = leaderboard(10);
+        collect(leaderboard, "r1", "nord", Duration.ofMinutes(1), 3);
+        collect(leaderboard, "r2", "sud", Duration.ofMinutes(1), 1);
+        collect(leaderboard, "r2", "sud", Duration.ofMinutes(30), 5);
+        collect(leaderboard, "r3", "nord", Duration.ofHours(5), 10);
+        leaderboard.refresh();
+
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.FIVE_MINUTES))
+                .containsExactly(new LeaderboardEntry("r1", 3), new LeaderboardEntry("r2", 1));
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_HOUR))
+                .containsExactly(new LeaderboardEntry("r2", 6), new LeaderboardEntry("r1", 3));
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_DAY))
+                .containsExactly(new LeaderboardEntry("r3", 10), new LeaderboardEntry("r2", 6), new LeaderboardEntry("r1", 3));
+        assertThat(entries(leaderboard, LeaderboardDimension.REGION, LeaderboardWindow.ONE_DAY))
+                .containsExactly(new LeaderboardEntry("nord", 13), new LeaderboardEntry("sud", 6));
+    }
+
+    @Test
+    void keepsOnlyTopK() {
+        ProductivityLeaderboard leaderboard = leaderboard(2);
+        for (int i = 1; i <= 5; i++) {
+            collect(leaderboard, "r" + i, "nord", Duration.ZERO, i);
+        }
+        leaderboard.refresh();
+
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.FIVE_MINUTES))
+                .containsExactly(new LeaderboardEntry("r5", 5), new LeaderboardEntry("r4", 4));
+        assertThat(leaderboard.top(LeaderboardDimension.ROBOT, LeaderboardWindow.FIVE_MINUTES, 1).entries())
+                .containsExactly(new LeaderboardEntry("r5", 5));
+    }
+
+    @Test
+    void evictsRobotsIdleForADay() {
+        ProductivityLeaderboard leaderboard = leaderboard(10);
+        collect(leaderboard, "r1", "nord", Duration.ZERO, 1);
+        clock.advance(Duration.ofHours(23));
+        collect(leaderboard, "r2", "nord", Duration.ZERO, 1);
+
+        clock.advance(Duration.ofHours(2));
+        leaderboard.refresh();
+
+        assertThat(leaderboard.trackedKeys(LeaderboardDimension.ROBOT)).isEqualTo(1);
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_DAY))
+                .containsExactly(new LeaderboardEntry("r2", 1));
+    }
+
+    @Test
+    void mergeSkipsDocumentsCreatedAfterLiveCountingStarted() {
+        ProductivityLeaderboard leaderboard = leaderboard(10);
+        Instant start = clock.instant();
+        clock.advance(Duration.ofMinutes(1));
+
+        // Détecté avant le démarrage, reçu après (liaison faible) : compté à l'ingestion
+        Waste buffered = stored("r9", "est", start.minus(Duration.ofMinutes(10)), clock.instant());
+        leaderboard.record(buffered);
+
+        // La relecture, plus tardive, le retrouve dans Mongo avec l'historique
+        leaderboard.merge(Stream.of(
+                stored("r1", "nord", start.minus(Duration.ofMinutes(3)), start.minus(Duration.ofMinutes(3))),
+                stored("r1", "nord", start.minus(Duration.ofMinutes(50)), start.minus(Duration.ofMinutes(50))),
+                stored("r2", "sud", start.minus(Duration.ofHours(3)), start.minus(Duration.ofHours(3))),
+                stored("r3", "sud", start.minus(Duration.ofDays(2)), start.minus(Duration.ofMinutes(5))),
+                buffered));
+
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_HOUR))
+                .containsExactly(new LeaderboardEntry("r1", 2), new LeaderboardEntry("r9", 1));
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_DAY))
+                .containsExactly(new LeaderboardEntry("r1", 2), new LeaderboardEntry("r2", 1), new LeaderboardEntry("r9", 1));
+        assertThat(leaderboard.trackedKeys(LeaderboardDimension.ROBOT)).isEqualTo(3);
+    }
+
+    @Test
+    void deletedAndMovedWastesLeaveTheirRobot() {
+        ProductivityLeaderboard leaderboard = leaderboard(10);
+        Waste deleted = stored("r1", "nord", clock.instant(), clock.instant());
+        Waste moved = stored("r1", "nord", clock.instant(), clock.instant());
+        leaderboard.record(deleted);
+        leaderboard.record(moved);
+        collect(leaderboard, "r1", "nord", Duration.ZERO, 1);
+
+        leaderboard.remove(deleted);
+        Waste corrected = stored("r2", "sud", moved.getTimestamp(), clock.instant());
+        corrected.setId(moved.getId());
+        leaderboard.update(moved, corrected);
+        leaderboard.refresh();
+
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_DAY))
+                .containsExactly(new LeaderboardEntry("r1", 1), new LeaderboardEntry("r2", 1));
+        assertThat(entries(leaderboard, LeaderboardDimension.REGION, LeaderboardWindow.ONE_DAY))
+                .containsExactly(new LeaderboardEntry("nord", 1), new LeaderboardEntry("sud", 1));
+    }
+
+    @Test
+    void historyRemovedBeforeMergeIsLeftToTheHistoryRead() {
+        ProductivityLeaderboard leaderboard = leaderboard(10);
+        Instant start = clock.instant();
+        Waste old = stored("r1", "nord", start.minus(Duration.ofHours(1)), start.minus(Duration.ofHours(1)));
+        Waste kept = stored("r1", "nord", start.minus(Duration.ofHours(2)), start.minus(Duration.ofHours(2)));
+        clock.advance(Duration.ofMinutes(1));
+        collect(leaderboard, "r1", "nord", Duration.ZERO, 1);
+
+        // Supprimé avant la relecture : Mongo ne le renvoie plus
+        leaderboard.remove(old);
+        leaderboard.merge(Stream.of(kept));
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_DAY))
+                .containsExactly(new LeaderboardEntry("r1", 2));
+
+        // Après la relecture, l'historique est compté : sa suppression aussi
+        leaderboard.remove(kept);
+        leaderboard.refresh();
+        assertThat(entries(leaderboard, LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_DAY))
+                .containsExactly(new LeaderboardEntry("r1", 1));
+    }
+
+    private ProductivityLeaderboard leaderboard(int topK) {
+        LeaderboardProperties properties = new LeaderboardProperties();
+        properties.setTopK(topK);
+        return new ProductivityLeaderboard(properties, clock);
+    }
+
+    private void collect(ProductivityLeaderboard leaderboard, String robotId, String region, Duration ago, int count) {
+        for (int i = 0; i < count; i++) {
+            leaderboard.record(waste(robotId, region, ago));
+        }
+    }
+
+    private Waste waste(String robotId, String region, Duration ago) {
+        Waste waste = new Waste();
+        waste.setRobotId(robotId);
+        waste.setRegion(region);
+        waste.setTimestamp(clock.instant().minus(ago));
+        return waste;
+    }
+
+    // Document tel que relu depuis Mongo : ObjectId créé à createdAt
+    private static Waste stored(String robotId, String region, Instant timestamp, Instant createdAt) {
+        Waste waste = new Waste();
+        waste.setId(new ObjectId(Date.from(createdAt)).toHexString());
+        waste.setRobotId(robotId);
+        waste.setRegion(region);
+        waste.setTimestamp(timestamp);
+        return waste;
+    }
+
+    private static List<LeaderboardEntry> entries(ProductivityLeaderboard leaderboard,
+                                                  LeaderboardDimension by, LeaderboardWindow window) {
+        return leaderboard.top(by, window, leaderboard.maxSize()).entries();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
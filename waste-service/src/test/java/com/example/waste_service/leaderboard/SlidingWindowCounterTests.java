@@ -0,0 +1,63 @@
+package com.example.waste_service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTests {
+
+    private static final long NOW = Duration.ofDays(20_000).toMillis();
+
+    @Test
+    void countsEventsInsideWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(LeaderboardWindow.FIVE_MINUTES);
+        counter.increment(NOW, NOW);
+        counter.increment(NOW - Duration.ofMinutes(2).toMillis(), NOW);
+        counter.increment(NOW - Duration.ofMinutes(4).toMillis(), NOW);
+
+        assertThat(counter.sum(NOW)).isEqualTo(3);
+    }
+
+    @Test
+    void eventsExpireAsWindowSlides() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(LeaderboardWindow.FIVE_MINUTES);
+        counter.increment(NOW - Duration.ofMinutes(4).toMillis(), NOW);
+        counter.increment(NOW, NOW);
+
+        assertThat(counter.sum(NOW + Duration.ofMinutes(2).toMillis())).isEqualTo(1);
+        assertThat(counter.sum(NOW + Duration.ofMinutes(6).toMillis())).isZero();
+    }
+
+    @Test
+    void ignoresEventsOlderThanWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(LeaderboardWindow.FIVE_MINUTES);
+        counter.increment(NOW - Duration.ofMinutes(6).toMillis(), NOW);
+
+        assertThat(counter.sum(NOW)).isZero();
+    }
+
+    @Test
+    void reusesExpiredSlots() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(LeaderboardWindow.FIVE_MINUTES);
+        counter.increment(NOW, NOW);
+        // Même emplacement de l'anneau, 5 minutes plus tard
+        long later = NOW + Duration.ofMinutes(5).toMillis();
+        counter.increment(later, later);
+
+        assertThat(counter.sum(later)).isEqualTo(1);
+    }
+
+    @Test
+    void decrementRemovesOnlyCountedEvents() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(LeaderboardWindow.FIVE_MINUTES);
+        counter.increment(NOW, NOW);
+        counter.decrement(NOW, NOW);
+        counter.decrement(NOW, NOW);
+        counter.decrement(NOW - Duration.ofMinutes(6).toMillis(), NOW);
+        counter.increment(NOW - Duration.ofMinutes(1).toMillis(), NOW);
+
+        assertThat(counter.sum(NOW)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.waste_service.service;
+
+import com.example.waste_service.leaderboard.LeaderboardDimension;
+import com.example.waste_service.leaderboard.LeaderboardEntry;
+import com.example.waste_service.leaderboard.LeaderboardProperties;
+import com.example.waste_service.leaderboard.LeaderboardWindow;
+import com.example.waste_service.leaderboard.ProductivityLeaderboard;
+import com.example.waste_service.model.Waste;
+import com.example.waste_service.repository.WasteRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WasteServiceTests {
+
+    private final WasteRepository repository = mock(WasteRepository.class);
+    private final ProductivityLeaderboard leaderboard =
+            new ProductivityLeaderboard(new LeaderboardProperties(), Clock.systemUTC());
+    private final WasteService service = new WasteService(repository, leaderboard);
+
+    @Test
+    void updateMovesWasteToItsNewRobot() {
+        when(repository.save(any())).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+        Waste created = service.save(waste("r1"));
+
+        when(repository.findById(created.getId())).thenReturn(Optional.of(created));
+        Waste corrected = waste("r2");
+        corrected.setId(created.getId());
+        service.save(corrected);
+
+        assertThat(robots()).containsExactly(new LeaderboardEntry("r2", 1));
+    }
+
+    @Test
+    void deleteRemovesWasteFromLeaderboard() {
+        when(repository.save(any())).thenAnswer(invocation -> withId(invocation.getArgument(0)));
+        Waste created = service.save(waste("r1"));
+        service.save(waste("r1"));
+
+        when(repository.findById(created.getId())).thenReturn(Optional.of(created));
+        service.delete(created.getId());
+
+        assertThat(robots()).containsExactly(new LeaderboardEntry("r1", 1));
+    }
+
+    private List<LeaderboardEntry> robots() {
+        leaderboard.refresh();
+        return leaderboard.top(LeaderboardDimension.ROBOT, LeaderboardWindow.ONE_DAY, leaderboard.maxSize()).entries();
+    }
+
+    // Identifiant posé à l'insertion, comme Mongo
+    private static Waste withId(Waste waste) {
+        if (waste.getId() == null) {
+            waste.setId(new ObjectId().toHexString());
+        }
+        return waste;
+    }
+
+    private static Waste waste(String robotId) {
+        Waste waste = new Waste();
+        waste.setRobotId(robotId);
+        waste.setRegion("nord");
+        waste.setTimestamp(Instant.now());
+        return waste;
+    }
+}